@@ -48,6 +48,16 @@ public class AuthenticationController {
         return ResponseEntity.ok(this.service.refreshToken(req));
     }
 
+    // ends this login: the refresh token and its access tokens stop working
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestBody
+            final RefreshRequest req) {
+        this.service.logout(req);
+        return ResponseEntity.noContent()
+                .build();
+    }
+
     @PostMapping("/activate")
     public ResponseEntity<Void> activateAccount(
             @Valid @RequestBody ActivationRequest request
@@ -15,5 +15,7 @@ public interface AuthenticationService {
 
     AuthenticationResponse refreshToken(RefreshRequest req);
 
+    void logout(RefreshRequest req);
+
     void activateAccount(@Valid ActivationRequest request);
 }
@@ -0,0 +1,41 @@
+package com.synapse.synapse.auth;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+
+// The chain of refresh tokens issued from one login. Each refresh advances
+// the generation; a token presented with an older generation has already
+// been used, so the whole family is revoked.
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "REFRESH_TOKEN_FAMILIES")
+public class RefreshTokenFamily {
+
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @Column(name = "ID", columnDefinition = "uuid")
+    private String id;
+
+    @Column(name = "USER_ID", nullable = false, columnDefinition = "uuid")
+    private String userId;
+
+    @Column(name = "GENERATION", nullable = false)
+    private int generation;
+
+    @Column(name = "REVOKED", nullable = false)
+    private boolean revoked;
+
+    // last moment a token of this family can still be valid
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,45 @@
+package com.synapse.synapse.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    // Compare-and-set on the generation: of two requests presenting the same
+    // token, exactly one updates the row. The new token gets a full
+    // lifetime, so the family's expiry moves with it.
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.generation = f.generation + 1, f.expiresAt = :expiresAt "
+            + "WHERE f.id = :id AND f.generation = :generation AND f.revoked = false")
+    int advance(
+            @Param("id") String id,
+            @Param("generation") int generation,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revoked = true WHERE f.id = :id")
+    int revoke(@Param("id") String id);
+
+    @Query("SELECT f.id FROM RefreshTokenFamily f WHERE f.userId = :userId AND f.revoked = false")
+    List<String> findActiveIdsByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revoked = true WHERE f.userId = :userId AND f.revoked = false")
+    int revokeAllByUserId(@Param("userId") String userId);
+
+    // revoked families whose tokens could still be presented
+    @Query("SELECT f.id FROM RefreshTokenFamily f WHERE f.revoked = true AND f.expiresAt > :now")
+    List<String> findRevokedIds(@Param("now") LocalDateTime now);
+
+    boolean existsByIdAndRevokedTrue(String id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,87 @@
+package com.synapse.synapse.auth;
+
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.security.JwtClaims;
+import com.synapse.synapse.security.RevokedFamilyFilter;
+import com.synapse.synapse.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.synapse.synapse.exception.ErrorCode.INVALID_REFRESH_TOKEN;
+
+// Rotating refresh tokens: every refresh hands out the next generation of
+// the family and the previous token stops working. Presenting a token that
+// was already rotated means it was copied, so the family is revoked for
+// both the thief and the owner.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final RevokedFamilyFilter revokedFamilies;
+
+    @Value("${app.security.jwt.refresh-token-expiration}")
+    private long refreshTokenExpiration;
+
+    @Transactional
+    public RefreshTokenFamily startFamily(final User user) {
+        final LocalDateTime now = LocalDateTime.now();
+        return familyRepository.save(RefreshTokenFamily.builder()
+                .userId(user.getId())
+                .generation(0)
+                .revoked(false)
+                .expiresAt(expiresAfter(now))
+                .createdDate(now)
+                .build());
+    }
+
+    // Returns the generation of the token to issue next. The revocation
+    // must survive the exception, hence noRollbackFor.
+    @Transactional(noRollbackFor = BusinessException.class)
+    public int rotate(final JwtClaims claims) {
+        final String familyId = claims.familyId();
+        if (familyId == null || revokedFamilies.isRevoked(familyId)) {
+            throw new BusinessException(INVALID_REFRESH_TOKEN);
+        }
+
+        if (familyRepository.advance(familyId, claims.generation(), expiresAfter(LocalDateTime.now())) == 1) {
+            return claims.generation() + 1;
+        }
+
+        log.warn("Refresh token reuse detected for family {}, revoking it", familyId);
+        revoke(familyId);
+        throw new BusinessException(INVALID_REFRESH_TOKEN);
+    }
+
+    @Transactional
+    public void revoke(final String familyId) {
+        familyRepository.revoke(familyId);
+        revokedFamilies.record(familyId);
+    }
+
+    // Password change, deactivation: every login of the user ends
+    @Transactional
+    public void revokeAll(final String userId) {
+        familyRepository.findActiveIdsByUserId(userId).forEach(revokedFamilies::record);
+        familyRepository.revokeAllByUserId(userId);
+    }
+
+    private LocalDateTime expiresAfter(final LocalDateTime issuedAt) {
+        return issuedAt.plus(Duration.ofMillis(refreshTokenExpiration));
+    }
+
+    @Scheduled(cron = "${app.security.refresh-tokens.cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        final int deleted = familyRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh token families", deleted);
+    }
+}
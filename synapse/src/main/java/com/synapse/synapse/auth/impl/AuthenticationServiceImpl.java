@@ -1,6 +1,8 @@
 package com.synapse.synapse.auth.impl;
 
 import com.synapse.synapse.auth.AuthenticationService;
+import com.synapse.synapse.auth.RefreshTokenFamily;
+import com.synapse.synapse.auth.RefreshTokenService;
 import com.synapse.synapse.auth.request.ActivationRequest;
 import com.synapse.synapse.auth.request.AuthenticationRequest;
 import com.synapse.synapse.auth.request.RefreshRequest;
@@ -11,6 +13,8 @@ import com.synapse.synapse.email.EmailTemplateName;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.role.Role;
 import com.synapse.synapse.role.RoleRepository;
+import com.synapse.synapse.security.AuthRateLimits;
+import com.synapse.synapse.security.JwtClaims;
 import com.synapse.synapse.security.JwtService;
 import com.synapse.synapse.user.*;
 import jakarta.mail.MessagingException;
@@ -20,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,9 +47,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final EmailService emailService;
     private final TokenRepository tokenRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final AuthRateLimits rateLimits;
+    private final RefreshTokenService refreshTokens;
 
     @Override
     public AuthenticationResponse login(final AuthenticationRequest request) {
+        // spread-out guessing against one account gets past the per-IP limit
+        this.rateLimits.checkEmail(request.getEmail());
         //check if email and password valid
         final Authentication auth = this.authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -53,8 +63,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 )
         );
         final User user = (User) auth.getPrincipal();
-        final String token = this.jwtService.generateAccessToken(user.getUsername());
-        final String refreshToken = this.jwtService.generateRefreshToken(user.getUsername());
+        final RefreshTokenFamily family = this.refreshTokens.startFamily(user);
+        final String token = this.jwtService.generateAccessToken(user, family.getId());
+        final String refreshToken = this.jwtService.generateRefreshToken(user, family.getId(), family.getGeneration());
         final String tokenType = "Bearer";
         return AuthenticationResponse.builder()
                 .accessToken(token)
@@ -66,6 +77,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     @Transactional
     public void register(final RegistrationRequest request) {
+        this.rateLimits.checkEmail(request.getEmail());
 
         checkUserEmail(request.getEmail());
         checkPasswords(request.getPassword(), request.getConfirmPassword());
@@ -89,15 +101,39 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public AuthenticationResponse refreshToken(final RefreshRequest req) {
-        final String newAccessToken = this.jwtService.refreshAccessToken(req.getRefreshToken());
+        final JwtClaims claims = this.jwtService.validateRefreshToken(req.getRefreshToken());
+        final User user = this.userRepository.findByEmailIgnoreCase(claims.subject())
+                .orElseThrow(() -> new BusinessException(USER_NOT_FOUND));
+
+        // fresh claims come from the current row, so revocation and status
+        // changes take effect at the latest on the next refresh
+        if (claims.tokenVersion() < user.getTokenVersion()) {
+            throw new BusinessException(INVALID_REFRESH_TOKEN);
+        }
+        if (!user.isEnabled()) {
+            throw new BusinessException(ERR_USER_DISABLED);
+        }
+
+        // the presented token is spent; a second use revokes the family
+        final int generation = this.refreshTokens.rotate(claims);
+        final String newAccessToken = this.jwtService.generateAccessToken(user, claims.familyId());
+        final String newRefreshToken = this.jwtService.generateRefreshToken(user, claims.familyId(), generation);
         final String tokenType = "Bearer";
         return AuthenticationResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(req.getRefreshToken())
+                .refreshToken(newRefreshToken)
                 .tokenType(tokenType)
                 .build();
     }
 
+    @Override
+    public void logout(final RefreshRequest req) {
+        final JwtClaims claims = this.jwtService.validateRefreshToken(req.getRefreshToken());
+        if (claims.familyId() != null) {
+            this.refreshTokens.revoke(claims.familyId());
+        }
+    }
+
     @Override
     @Transactional
     public void activateAccount(ActivationRequest request) {
@@ -131,6 +167,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         userRepository.save(user);
         tokenRepository.save(token);
+        userCache.removeUserFromCache(user.getUsername());
     }
 
 
@@ -29,9 +29,31 @@ public class Board extends BaseEntity {
     @Column(name = "DESCRIPTION")
     private String description;
 
+    // Monotonic per-board sync cursor. Only ever written by
+    // BoardRepository#incrementChangeVersion, never by entity flushes.
+    @Column(
+            name = "CHANGE_VERSION",
+            nullable = false,
+            insertable = false,
+            updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0"
+    )
+    private long changeVersion;
+
+    // Highest change version whose tombstones were pruned: deletions at or
+    // below it can no longer be listed. Only written by the tombstone pruner.
+    @Column(
+            name = "TOMBSTONES_PRUNED_THROUGH",
+            nullable = false,
+            insertable = false,
+            updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0"
+    )
+    private long tombstonesPrunedThrough;
+
     // Owner of the board
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "OWNER_ID", nullable = false)
+    @JoinColumn(name = "OWNER_ID", nullable = false, columnDefinition = "uuid")
     private User owner;
 
     //  NOTES
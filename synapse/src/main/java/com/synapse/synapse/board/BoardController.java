@@ -1,15 +1,23 @@
 package com.synapse.synapse.board;
 
+import com.synapse.synapse.board.request.BoardImportResponse;
 import com.synapse.synapse.board.request.BoardRequestDto;
 import com.synapse.synapse.board.request.BoardResponseDto;
+import com.synapse.synapse.board.request.BoardSnapshotDto;
 import com.synapse.synapse.user.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,6 +26,8 @@ import java.util.List;
 public class BoardController {
 
     private final BoardService boardService;
+    private final BoardImportService boardImportService;
+    private final BoardExportService boardExportService;
 
     @GetMapping
     public List<BoardResponseDto> getBoards(Authentication authentication) {
@@ -35,6 +45,17 @@ public class BoardController {
         return boardService.create(dto, user);
     }
 
+    // The body is read as a stream, never bound to a DTO as a whole
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public BoardImportResponse importBoard(
+            InputStream document,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return boardImportService.importBoard(document, user);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("@boardSecurityService.isBoardOwner(#id)")
     public BoardResponseDto getById(
@@ -45,6 +66,46 @@ public class BoardController {
         return boardService.getById(id, user);
     }
 
+    // Ownership is enforced by the owner-scoped lookup in the service,
+    // so the snapshot skips the extra @PreAuthorize round trip.
+    @GetMapping("/{id}/snapshot")
+    public BoardSnapshotDto getSnapshot(
+            @PathVariable String id,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return boardService.getSnapshot(id, user);
+    }
+
+    // Streamed from a database cursor on an async thread, see BoardExportService
+    @GetMapping("/{id}/export")
+    @PreAuthorize("@boardSecurityService.isBoardOwner(#id)")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(defaultValue = "false") boolean images
+    ) {
+        BoardExportFormat exportFormat = BoardExportFormat.fromString(format);
+        String fileName = "board-" + id + "." + (images ? "zip" : exportFormat.getExtension());
+
+        return ResponseEntity.ok()
+                .contentType(images ? MediaType.parseMediaType("application/zip") : exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> boardExportService.export(id, exportFormat, images, out));
+    }
+
+    @PostMapping("/{id}/duplicate")
+    @PreAuthorize("@boardSecurityService.isBoardOwner(#id)")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BoardResponseDto duplicate(
+            @PathVariable String id,
+            @RequestParam(required = false) String name,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return boardService.duplicate(id, name, user);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("@boardSecurityService.isBoardOwner(#id)")
     public BoardResponseDto update(
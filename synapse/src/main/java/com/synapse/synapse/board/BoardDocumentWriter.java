@@ -0,0 +1,74 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.board.request.BoardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+// Writes the board document while the rows are read through forward-only
+// cursors, so memory does not grow with the board. One repeatable-read
+// transaction keeps board, notes and links consistent; it ends with the
+// document, before any image is fetched from storage.
+@Component
+@RequiredArgsConstructor
+public class BoardDocumentWriter {
+
+    private final ObjectMapper objectMapper;
+    private final BoardRepository boardRepository;
+    private final BoardMapper boardMapper;
+    private final BoardJdbcRepository boardJdbcRepository;
+
+    @Value("${app.boards.export.fetch-size:500}")
+    private int fetchSize;
+
+    // false if the board was deleted after the ownership check
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public boolean write(String boardId, BoardExportFormat format, OutputStream out) {
+        BoardResponseDto board = boardRepository.findById(boardId)
+                .map(boardMapper::toDto)
+                .orElse(null);
+        if (board == null) {
+            return false;
+        }
+
+        // the zip or response stream stays open for the caller
+        ObjectWriter writer = objectMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+
+        if (format == BoardExportFormat.NDJSON) {
+            try (SequenceWriter lines = writer.withRootValueSeparator("\n").writeValues(out)) {
+                lines.write(Map.of("board", board));
+                boardJdbcRepository.streamNotes(boardId, fetchSize, note -> lines.write(Map.of("note", note)));
+                boardJdbcRepository.streamLinks(boardId, fetchSize, link -> lines.write(Map.of("link", link)));
+            }
+            return true;
+        }
+
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeName("board");
+            generator.writePOJO(board);
+
+            generator.writeName("notes");
+            generator.writeStartArray();
+            boardJdbcRepository.streamNotes(boardId, fetchSize, generator::writePOJO);
+            generator.writeEndArray();
+
+            generator.writeName("links");
+            generator.writeStartArray();
+            boardJdbcRepository.streamLinks(boardId, fetchSize, generator::writePOJO);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return true;
+    }
+}
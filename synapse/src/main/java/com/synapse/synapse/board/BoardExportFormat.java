@@ -0,0 +1,30 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum BoardExportFormat {
+
+    // {"board": {...}, "notes": [...], "links": [...]}, accepted by POST /import
+    JSON("json", MediaType.APPLICATION_JSON),
+
+    // one {"board"|"note"|"link": {...}} object per line, notes before links
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    public static BoardExportFormat fromString(String value) {
+        for (BoardExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_EXPORT_FORMAT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.note.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Streams a board export to the response, see BoardDocumentWriter for the
+// document itself. With images, the document is the first zip entry and each
+// stored image follows under images/{key}, the key being the note's imageUrl.
+//
+// Images are copied outside any transaction: keys are read a page at a time
+// with keyset queries that each return their connection, so a slow download
+// never pins a pooled connection or an open snapshot. Images therefore
+// follow the live board, and one removed since the document was written is
+// logged and left out.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BoardExportService {
+
+    private static final String IMAGE_ENTRY_PREFIX = "images/";
+
+    private final BoardDocumentWriter documentWriter;
+    private final BoardJdbcRepository boardJdbcRepository;
+    private final S3Service s3Service;
+
+    @Value("${app.boards.export.image-page-size:100}")
+    private int imagePageSize;
+
+    public void export(String boardId, BoardExportFormat format, boolean includeImages, OutputStream out)
+            throws IOException {
+        if (!includeImages) {
+            documentWriter.write(boardId, format, out);
+            out.flush();
+            return;
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.putNextEntry(new ZipEntry("board." + format.getExtension()));
+        boolean found = documentWriter.write(boardId, format, zip);
+        zip.closeEntry();
+
+        if (found) {
+            writeImages(zip, boardId);
+        }
+        zip.finish();
+    }
+
+    private void writeImages(ZipOutputStream zip, String boardId) throws IOException {
+        String after = "";
+        while (true) {
+            List<String> keys = boardJdbcRepository.findImageKeysAfter(boardId, after, imagePageSize);
+            for (String key : keys) {
+                writeImage(zip, key);
+            }
+            if (keys.size() < imagePageSize) {
+                return;
+            }
+            after = keys.get(keys.size() - 1);
+        }
+    }
+
+    private void writeImage(ZipOutputStream zip, String key) throws IOException {
+        try (ResponseInputStream<GetObjectResponse> image = s3Service.openObject(key)) {
+            zip.putNextEntry(new ZipEntry(IMAGE_ENTRY_PREFIX + key));
+            image.transferTo(zip);
+            zip.closeEntry();
+        } catch (NoSuchKeyException e) {
+            log.warn("Image {} of an exported board is missing from storage", key);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.board.BoardJdbcRepository.LinkRow;
+import com.synapse.synapse.board.BoardJdbcRepository.NoteRow;
+import com.synapse.synapse.board.request.BoardImportNoteDto;
+import com.synapse.synapse.board.request.BoardImportResponse;
+import com.synapse.synapse.board.request.BoardRequestDto;
+import com.synapse.synapse.common.Uuids;
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.link.CreateLinkRequest;
+import com.synapse.synapse.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Creates a board from a document exported by another tool:
+//   {"board": {...}, "notes": [{"id": ...}, ...], "links": [{"fromNoteId": ..., "toNoteId": ...}, ...]}
+// The document is read token by token and written in JDBC batches, so only
+// one batch plus the client id -> note id map is held in memory. The map is
+// capped by max-notes. Links may only reference notes listed before them.
+@Service
+@RequiredArgsConstructor
+public class BoardImportService {
+
+    private final ObjectMapper objectMapper;
+    private final BoardRepository boardRepository;
+    private final BoardMapper boardMapper;
+    private final BoardJdbcRepository boardJdbcRepository;
+
+    @Value("${app.boards.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.boards.import.max-notes:100000}")
+    private int maxNotes;
+
+    @Transactional
+    public BoardImportResponse importBoard(InputStream document, User user) {
+        BoardImport boardImport = new BoardImport(user);
+
+        try (JsonParser parser = objectMapper.createParser(document)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT);
+            }
+
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "board" -> boardImport.board(objectMapper.readValue(parser, BoardRequestDto.class));
+                    case "notes" -> readArray(parser, BoardImportNoteDto.class, boardImport::note);
+                    case "links" -> readArray(parser, CreateLinkRequest.class, boardImport::link);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JacksonException e) {
+            throw new BusinessException(ErrorCode.INVALID_IMPORT);
+        }
+
+        return boardImport.finish();
+    }
+
+    private <T> void readArray(JsonParser parser, Class<T> type, Consumer<T> consumer) {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new BusinessException(ErrorCode.INVALID_IMPORT);
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            consumer.accept(objectMapper.readValue(parser, type));
+        }
+    }
+
+    private class BoardImport {
+
+        private final User user;
+
+        // client id -> generated note id
+        private final Map<String, String> noteIds = new HashMap<>();
+
+        private Board board;
+        private List<NoteRow> notes = new ArrayList<>();
+        private List<LinkRow> links = new ArrayList<>();
+        private int linkCount;
+
+        BoardImport(User user) {
+            this.user = user;
+        }
+
+        void board(BoardRequestDto dto) {
+            if (board != null || dto.getName() == null || dto.getName().isBlank()) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT);
+            }
+            // flushed so the batched note inserts can reference it
+            board = boardRepository.saveAndFlush(boardMapper.toEntity(dto, user));
+        }
+
+        void note(BoardImportNoteDto note) {
+            if (board == null || note.getId() == null) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT);
+            }
+            if (noteIds.size() >= maxNotes) {
+                throw new BusinessException(ErrorCode.IMPORT_TOO_LARGE);
+            }
+
+            String id = Uuids.timeOrdered();
+            if (noteIds.putIfAbsent(note.getId(), id) != null) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT);
+            }
+
+            notes.add(new NoteRow(id, note));
+            if (notes.size() >= batchSize) {
+                flushNotes();
+            }
+        }
+
+        void link(CreateLinkRequest link) {
+            String fromNoteId = link.getFromNoteId() == null ? null : noteIds.get(link.getFromNoteId());
+            String toNoteId = link.getToNoteId() == null ? null : noteIds.get(link.getToNoteId());
+            if (fromNoteId == null || toNoteId == null || fromNoteId.equals(toNoteId)) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT);
+            }
+
+            links.add(new LinkRow(Uuids.timeOrdered(), fromNoteId, toNoteId));
+            linkCount++;
+            if (links.size() >= batchSize) {
+                flushLinks();
+            }
+        }
+
+        BoardImportResponse finish() {
+            if (board == null) {
+                throw new BusinessException(ErrorCode.INVALID_IMPORT);
+            }
+            flushLinks();
+
+            return BoardImportResponse.builder()
+                    .board(boardMapper.toDto(board))
+                    .notes(noteIds.size())
+                    .links(linkCount)
+                    .build();
+        }
+
+        private void flushNotes() {
+            if (!notes.isEmpty()) {
+                boardJdbcRepository.insertNotes(board.getId(), user.getId(), notes);
+                notes = new ArrayList<>(batchSize);
+            }
+        }
+
+        // links reference notes that may still be buffered
+        private void flushLinks() {
+            flushNotes();
+            if (!links.isEmpty()) {
+                boardJdbcRepository.insertLinks(board.getId(), user.getId(), links);
+                links = new ArrayList<>(batchSize);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.board.request.BoardImportNoteDto;
+import com.synapse.synapse.link.LinkResponse;
+import com.synapse.synapse.note.NoteResponseDto;
+import com.synapse.synapse.note.NoteType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Plain JDBC for whole-board reads and writes that would otherwise go through
+// one entity per row. Batches are sent as multi-row inserts
+// (reWriteBatchedInserts); reads use a server-side cursor, which Postgres only
+// opens inside a transaction, so callers must hold one.
+@Repository
+@RequiredArgsConstructor
+public class BoardJdbcRepository {
+
+    private static final String INSERT_NOTE = """
+            INSERT INTO notes (id, content, color, position_x, position_y, note_type, width, height,
+                               image_variants, change_version, board_id, author_id, created_date, created_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_LINK = """
+            INSERT INTO links (id, board_id, from_note_id, to_note_id, change_version, created_date, created_by)
+            VALUES (?, ?, ?, ?, 0, ?, ?)
+            """;
+
+    private static final String SELECT_NOTES = """
+            SELECT id, content, image_url, color, position_x, position_y, note_type, width, height, created_date
+              FROM notes
+             WHERE board_id = ?
+            """;
+
+    private static final String SELECT_LINKS = """
+            SELECT id, from_note_id, to_note_id, created_date
+              FROM links
+             WHERE board_id = ?
+            """;
+
+    // keyset page: callers pass the last key of the previous page
+    private static final String SELECT_IMAGE_KEYS_AFTER = """
+            SELECT DISTINCT image_url
+              FROM notes
+             WHERE board_id = ? AND image_url > ?
+             ORDER BY image_url
+             LIMIT ?
+            """;
+
+    // Board duplication: the source rows are copied set-based, with old -> new
+    // note ids in a transaction-scoped temp table so links can be remapped.
+    // Select-list parameters are cast since untyped ones would resolve to text.
+    private static final String COPY_BOARD = """
+            INSERT INTO boards (id, name, description, change_version, owner_id, created_date, created_by)
+            SELECT CAST(? AS uuid), ?, description, 0, CAST(? AS uuid), ?, ?
+              FROM boards
+             WHERE id = ?
+            """;
+
+    private static final String CREATE_NOTE_ID_MAP = """
+            CREATE TEMP TABLE note_id_map (old_id uuid PRIMARY KEY, new_id uuid NOT NULL) ON COMMIT DROP
+            """;
+
+    // FOR SHARE conflicts with the row lock NoteService takes, by flushing the
+    // note's DELETE or UPDATE, before it releases an image key: until this copy
+    // commits and has shared the keys, nothing can release them
+    private static final String MAP_NOTE_IDS = """
+            INSERT INTO note_id_map (old_id, new_id)
+            SELECT id, uuid_generate_v7()
+              FROM notes
+             WHERE board_id = ?
+               FOR SHARE
+            """;
+
+    private static final String COPY_NOTES = """
+            INSERT INTO notes (id, content, image_url, image_variants, color, position_x, position_y, note_type,
+                               width, height, change_version, board_id, author_id, created_date, created_by)
+            SELECT m.new_id, n.content, n.image_url, n.image_variants, n.color, n.position_x, n.position_y, n.note_type,
+                   n.width, n.height, 0, CAST(? AS uuid), CAST(? AS uuid), ?, ?
+              FROM notes n
+              JOIN note_id_map m ON m.old_id = n.id
+            """;
+
+    private static final String COPY_LINKS = """
+            INSERT INTO links (id, board_id, from_note_id, to_note_id, change_version, created_date, created_by)
+            SELECT uuid_generate_v7(), CAST(? AS uuid), f.new_id, t.new_id, 0, ?, ?
+              FROM links l
+              JOIN note_id_map f ON f.old_id = l.from_note_id
+              JOIN note_id_map t ON t.old_id = l.to_note_id
+             WHERE l.board_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertNotes(String boardId, String authorId, List<NoteRow> notes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_NOTE, notes, notes.size(), (ps, row) -> {
+            BoardImportNoteDto note = row.note();
+            ps.setString(1, row.id());
+            ps.setString(2, note.getContent());
+            ps.setString(3, note.getColor());
+            ps.setObject(4, note.getPositionX(), Types.DOUBLE);
+            ps.setObject(5, note.getPositionY(), Types.DOUBLE);
+            ps.setString(6, NoteType.fromString(note.getNoteType()).name());
+            ps.setObject(7, note.getWidth(), Types.DOUBLE);
+            ps.setObject(8, note.getHeight(), Types.DOUBLE);
+            ps.setString(9, boardId);
+            ps.setString(10, authorId);
+            ps.setTimestamp(11, now);
+            ps.setString(12, authorId);
+        });
+    }
+
+    public void insertLinks(String boardId, String createdBy, List<LinkRow> links) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_LINK, links, links.size(), (ps, row) -> {
+            ps.setString(1, row.id());
+            ps.setString(2, boardId);
+            ps.setString(3, row.fromNoteId());
+            ps.setString(4, row.toNoteId());
+            ps.setTimestamp(5, now);
+            ps.setString(6, createdBy);
+        });
+    }
+
+    // Five statements whatever the board size; the copy's notes keep their
+    // image keys, so the caller must take references on them.
+    public void copyBoard(String sourceBoardId, String copyBoardId, String name, String ownerId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update(COPY_BOARD, copyBoardId, name, ownerId, now, ownerId, sourceBoardId);
+        jdbcTemplate.execute(CREATE_NOTE_ID_MAP);
+        jdbcTemplate.update(MAP_NOTE_IDS, sourceBoardId);
+        jdbcTemplate.update(COPY_NOTES, copyBoardId, ownerId, now, ownerId);
+        jdbcTemplate.update(COPY_LINKS, copyBoardId, now, ownerId, sourceBoardId);
+    }
+
+    // imageUrl is the storage key, not a presigned URL
+    public void streamNotes(String boardId, int fetchSize, Consumer<NoteResponseDto> consumer) {
+        jdbcTemplate.query(forwardOnly(SELECT_NOTES, boardId, fetchSize), (RowCallbackHandler) rs ->
+                consumer.accept(NoteResponseDto.builder()
+                        .id(rs.getString("id"))
+                        .content(rs.getString("content"))
+                        .imageUrl(rs.getString("image_url"))
+                        .color(rs.getString("color"))
+                        .positionX(rs.getObject("position_x", Double.class))
+                        .positionY(rs.getObject("position_y", Double.class))
+                        .noteType(NoteType.valueOf(rs.getString("note_type")).toApiValue())
+                        .width(rs.getObject("width", Double.class))
+                        .height(rs.getObject("height", Double.class))
+                        .createdDate(rs.getTimestamp("created_date").toLocalDateTime())
+                        .build()));
+    }
+
+    public void streamLinks(String boardId, int fetchSize, Consumer<LinkResponse> consumer) {
+        jdbcTemplate.query(forwardOnly(SELECT_LINKS, boardId, fetchSize), (RowCallbackHandler) rs ->
+                consumer.accept(LinkResponse.builder()
+                        .id(rs.getString("id"))
+                        .boardId(boardId)
+                        .fromNoteId(rs.getString("from_note_id"))
+                        .toNoteId(rs.getString("to_note_id"))
+                        .createdDate(rs.getTimestamp("created_date").toLocalDateTime())
+                        .build()));
+    }
+
+    // A plain query, no cursor: safe to call without a transaction
+    public List<String> findImageKeysAfter(String boardId, String afterKey, int limit) {
+        return jdbcTemplate.queryForList(SELECT_IMAGE_KEYS_AFTER, String.class, boardId, afterKey, limit);
+    }
+
+    private static PreparedStatementCreator forwardOnly(String sql, String boardId, int fetchSize) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, boardId);
+            return ps;
+        };
+    }
+
+    record NoteRow(String id, BoardImportNoteDto note) {
+    }
+
+    record LinkRow(String id, String fromNoteId, String toNoteId) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.synapse.synapse.board;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Applies board deletions made on other nodes to the local ownership cache.
+// Holds one pooled connection for LISTEN; notifications sent while it is
+// reconnecting are lost, so the whole cache is dropped on every (re)connect.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BoardOwnershipListener {
+
+    private static final int POLL_TIMEOUT_MS = 1_000;
+    private static final long RETRY_DELAY_MS = 5_000;
+
+    private final DataSource dataSource;
+    private final BoardOwnershipService boardOwnership;
+
+    @Value("${app.boards.ownership-cache.listen:true}")
+    private boolean enabled;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "board-ownership-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(POLL_TIMEOUT_MS * 2L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BoardOwnershipService.CHANNEL);
+                }
+                boardOwnership.evictAllLocally();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        boardOwnership.evictLocally(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Board ownership listener lost its connection, retrying in {} ms", RETRY_DELAY_MS, e);
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
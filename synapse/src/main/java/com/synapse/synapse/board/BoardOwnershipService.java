@@ -0,0 +1,157 @@
+package com.synapse.synapse.board;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.synapse.synapse.user.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Board ownership proven once per request. The @PreAuthorize checks record
+// what they verified, and services then take a board reference instead of
+// running findByIdAndOwnerId again.
+//
+// Behind the request memo sits a node-wide boardId -> ownerId cache. A board
+// never changes owner, so the only invalidation is deletion, which is
+// broadcast to every node over Postgres NOTIFY (see BoardOwnershipListener).
+@Service
+@RequiredArgsConstructor
+public class BoardOwnershipService {
+
+    public static final String CHANNEL = "board_ownership";
+
+    private static final String MEMO_ATTRIBUTE = BoardOwnershipService.class.getName() + ".owners";
+
+    private final BoardRepository boardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // safety net for notifications lost while a listener was reconnecting
+    @Value("${app.boards.ownership-cache.ttl:10m}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Value("${app.boards.ownership-cache.max-size:50000}")
+    private long maxSize = 50_000;
+
+    // boardId -> ownerId, bounded by Caffeine's W-TinyLFU eviction
+    private Cache<String, String> owners;
+
+    @PostConstruct
+    public void init() {
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, "boards.owners");
+    }
+
+    // Uninitialised board reference, no SQL, when ownership is already known
+    public Optional<Board> confirmedBoard(String boardId, String userId) {
+        if (knownOwner(boardId, userId)) {
+            return Optional.of(boardRepository.getReferenceById(boardId));
+        }
+        return Optional.empty();
+    }
+
+    // Board owned by the user for the service layer: a reference when this
+    // request already proved ownership, otherwise one findByIdAndOwnerId
+    // whose result is remembered for the rest of the request
+    public Optional<Board> findOwnedBoard(String boardId, User user) {
+        Optional<Board> confirmed = confirmedBoard(boardId, user.getId());
+        if (confirmed.isPresent()) {
+            return confirmed;
+        }
+
+        Optional<Board> board = boardRepository.findByIdAndOwnerId(boardId, user.getId());
+        board.ifPresent(found -> remember(found.getId(), user.getId()));
+        return board;
+    }
+
+    public boolean isOwner(String boardId, String userId) {
+        if (knownOwner(boardId, userId)) {
+            return true;
+        }
+        // unknown boards load nothing and are not cached
+        String ownerId = owners.get(boardId, id -> boardRepository.findOwnerIdById(id).orElse(null));
+        if (userId.equals(ownerId)) {
+            memo().put(boardId, ownerId);
+            return true;
+        }
+        return false;
+    }
+
+    public void remember(String boardId, String ownerId) {
+        memo().put(boardId, ownerId);
+        owners.put(boardId, ownerId);
+    }
+
+    // Drops the entry here now and again after commit, so a request that read
+    // the board in between cannot put it back. Other nodes are told through
+    // NOTIFY, which Postgres only delivers once the deleting transaction
+    // commits.
+    public void evict(String boardId) {
+        owners.invalidate(boardId);
+        memo().remove(boardId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    owners.invalidate(boardId);
+                }
+            });
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, boardId);
+    }
+
+    void evictLocally(String boardId) {
+        owners.invalidate(boardId);
+    }
+
+    void evictAllLocally() {
+        owners.invalidateAll();
+    }
+
+    private boolean knownOwner(String boardId, String userId) {
+        if (userId.equals(memo().get(boardId))) {
+            return true;
+        }
+        if (userId.equals(owners.getIfPresent(boardId))) {
+            memo().put(boardId, userId);
+            return true;
+        }
+        return false;
+    }
+
+    // boardId -> ownerId for the current request; outside a request nothing
+    // is memoised
+    @SuppressWarnings("unchecked")
+    private Map<String, String> memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new HashMap<>();
+        }
+
+        Map<String, String> memo =
+                (Map<String, String>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
@@ -1,6 +1,9 @@
 package com.synapse.synapse.board;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +13,14 @@ public interface BoardRepository extends JpaRepository<Board, String> {
     List<Board> findAllByOwnerId(String ownerId);
 
     Optional<Board> findByIdAndOwnerId(String id, String ownerId);
+
+    @Query("SELECT b.owner.id FROM Board b WHERE b.id = :boardId")
+    Optional<String> findOwnerIdById(@Param("boardId") String boardId);
+
+    @Modifying
+    @Query(value = "UPDATE BOARDS SET CHANGE_VERSION = CHANGE_VERSION + 1 WHERE ID = :boardId", nativeQuery = true)
+    int incrementChangeVersion(@Param("boardId") String boardId);
+
+    @Query("SELECT b.changeVersion FROM Board b WHERE b.id = :boardId")
+    long findChangeVersion(@Param("boardId") String boardId);
 }
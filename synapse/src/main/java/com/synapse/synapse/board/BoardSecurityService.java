@@ -11,7 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class BoardSecurityService {
 
-    private final BoardRepository boardRepository;
+    private final BoardOwnershipService boardOwnership;
 
     @Transactional(readOnly = true)
     public boolean isBoardOwner(final String boardId) {
@@ -19,9 +19,8 @@ public class BoardSecurityService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userId = ((User) authentication.getPrincipal()).getId();
 
-        Board board = boardRepository.findById(boardId)
-                .orElseThrow(() -> new RuntimeException("Board not found"));
-
-        return board.getCreatedBy().equals(userId);
+        // owner from the node-wide cache (findOwnerIdById on a miss), remembered
+        // for the service call that follows
+        return boardOwnership.isOwner(boardId, userId);
     }
 }
\ No newline at end of file
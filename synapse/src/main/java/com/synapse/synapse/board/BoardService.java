@@ -2,8 +2,16 @@ package com.synapse.synapse.board;
 
 import com.synapse.synapse.board.request.BoardRequestDto;
 import com.synapse.synapse.board.request.BoardResponseDto;
+import com.synapse.synapse.board.request.BoardSnapshotDto;
+import com.synapse.synapse.common.Uuids;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.link.LinkMapper;
+import com.synapse.synapse.link.LinkRepository;
+import com.synapse.synapse.note.ImageBlobService;
+import com.synapse.synapse.note.NoteMapper;
+import com.synapse.synapse.note.NoteRepository;
+import com.synapse.synapse.sync.BoardChangeTracker;
 import com.synapse.synapse.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,6 +26,14 @@ public class BoardService {
 
     private final BoardRepository boardRepository;
     private final BoardMapper boardMapper;
+    private final NoteRepository noteRepository;
+    private final NoteMapper noteMapper;
+    private final LinkRepository linkRepository;
+    private final LinkMapper linkMapper;
+    private final BoardChangeTracker changeTracker;
+    private final ImageBlobService imageBlobService;
+    private final BoardOwnershipService boardOwnership;
+    private final BoardJdbcRepository boardJdbcRepository;
 
     @Transactional(readOnly = true)
     public List<BoardResponseDto> getMyBoards(User user) {
@@ -41,6 +57,29 @@ public class BoardService {
         return boardMapper.toDto(board);
     }
 
+    // Board + notes + links in one transaction. The mappers only read
+    // association ids (no proxy init), so this is three statements in total.
+    @Transactional(readOnly = true)
+    public BoardSnapshotDto getSnapshot(String id, User user) {
+        Board board = boardRepository.findByIdAndOwnerId(id, user.getId())
+                .orElseThrow(() ->
+                        new BusinessException(ErrorCode.BOARD_NOT_FOUND)
+                );
+
+        return BoardSnapshotDto.builder()
+                .board(boardMapper.toDto(board))
+                .cursor(board.getChangeVersion())
+                .notes(noteRepository.findAllByBoardId(board.getId())
+                        .stream()
+                        .map(noteMapper::toNoteResponse)
+                        .toList())
+                .links(linkRepository.findByBoardId(board.getId())
+                        .stream()
+                        .map(linkMapper::toResponse)
+                        .toList())
+                .build();
+    }
+
     public BoardResponseDto update(String id, BoardRequestDto dto, User user) {
         Board board = boardRepository.findByIdAndOwnerId(id, user.getId())
                 .orElseThrow(() ->
@@ -62,6 +101,27 @@ public class BoardService {
     }
 
 
+    // Copied in the database, without loading the notes and links, and
+    // sharing the stored images of the source board
+    public BoardResponseDto duplicate(String id, String name, User user) {
+        Board source = boardRepository.findByIdAndOwnerId(id, user.getId())
+                .orElseThrow(() ->
+                        new BusinessException(ErrorCode.BOARD_NOT_FOUND)
+                );
+
+        String copyId = Uuids.timeOrdered();
+        String copyName = name == null || name.isBlank() ? source.getName() + " (copy)" : name;
+
+        boardJdbcRepository.copyBoard(source.getId(), copyId, copyName, user.getId());
+        imageBlobService.shareBoardImages(copyId);
+
+        return boardRepository.findById(copyId)
+                .map(boardMapper::toDto)
+                .orElseThrow(() ->
+                        new BusinessException(ErrorCode.BOARD_NOT_FOUND)
+                );
+    }
+
     @Transactional
     public void delete(String id, User user) {
 
@@ -70,6 +130,9 @@ public class BoardService {
                         new BusinessException(ErrorCode.BOARD_NOT_FOUND)
                 );
 
+        changeTracker.forgetBoard(board.getId());
+        boardOwnership.evict(board.getId());
+        noteRepository.findImageUrlsByBoardId(board.getId()).forEach(imageBlobService::release);
         boardRepository.delete(board);
     }
 }
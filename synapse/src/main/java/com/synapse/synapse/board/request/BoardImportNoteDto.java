@@ -0,0 +1,27 @@
+package com.synapse.synapse.board.request;
+
+import lombok.*;
+
+// A note of an imported board. The id is the source tool's own id, only used
+// to resolve the links of the same document.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardImportNoteDto {
+
+    private String id;
+
+    private String content;
+
+    private String color;
+
+    private Double positionX;
+
+    private Double positionY;
+
+    private String noteType;
+    private Double width;
+    private Double height;
+}
@@ -0,0 +1,17 @@
+package com.synapse.synapse.board.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardImportResponse {
+
+    private BoardResponseDto board;
+
+    private int notes;
+
+    private int links;
+}
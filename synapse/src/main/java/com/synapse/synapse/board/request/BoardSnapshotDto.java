@@ -0,0 +1,24 @@
+package com.synapse.synapse.board.request;
+
+import com.synapse.synapse.link.LinkResponse;
+import com.synapse.synapse.note.NoteResponseDto;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardSnapshotDto {
+
+    private BoardResponseDto board;
+
+    // sync cursor to start GET /changes?since= from
+    private long cursor;
+
+    private List<NoteResponseDto> notes;
+
+    private List<LinkResponse> links;
+}
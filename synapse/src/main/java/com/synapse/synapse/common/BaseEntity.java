@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -14,8 +15,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
-import static jakarta.persistence.GenerationType.UUID;
-
 @MappedSuperclass
 @Getter
 @Setter
@@ -25,8 +24,11 @@ import static jakarta.persistence.GenerationType.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
 
+    // time-ordered (v7) so inserts land at the right edge of the primary key
+    // and foreign key indexes; stored as native uuid, exposed as a String
     @Id
-    @GeneratedValue(strategy = UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @Column(name = "ID", columnDefinition = "uuid")
     private String id;
 
     @CreatedDate
@@ -0,0 +1,12 @@
+package com.synapse.synapse.common;
+
+// Id-only projection used by the @PreAuthorize ownership checks, so a check
+// reads three columns instead of loading the entity
+public interface OwnershipView {
+
+    String getBoardId();
+
+    String getCreatedBy();
+
+    String getBoardOwnerId();
+}
@@ -0,0 +1,20 @@
+package com.synapse.synapse.common;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+// UUIDv7 (RFC 9562) for rows written outside Hibernate, matching the ids the
+// entity generator produces: 48-bit unix millis, version, then random bits.
+public final class Uuids {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private Uuids() {
+    }
+
+    public static String timeOrdered() {
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -1,5 +1,8 @@
 package com.synapse.synapse.config;
 
+import com.synapse.synapse.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -8,12 +11,30 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class BeansConfig {
 
+    // strength 0 calibrates the BCrypt cost to target-latency at startup;
+    // existing hashes keep verifying since each carries its own cost
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            final MeterRegistry meterRegistry,
+            @Value("${app.security.password.strength:0}") final int strength,
+            @Value("${app.security.password.target-latency:250ms}") final Duration targetLatency,
+            @Value("${app.security.password.pool-size:2}") final int poolSize,
+            @Value("${app.security.password.queue-capacity:16}") final int queueCapacity,
+            @Value("${app.security.password.max-wait:2s}") final Duration maxWait
+    ) {
+        final int cost = strength > 0 ? strength : BoundedPasswordEncoder.calibrateStrength(targetLatency);
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(cost),
+                poolSize,
+                queueCapacity,
+                maxWait,
+                meterRegistry
+        );
     }
 
     @Bean
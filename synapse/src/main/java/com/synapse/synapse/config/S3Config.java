@@ -5,20 +5,53 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
 
 
 
 @Configuration
 public class S3Config {
 
+    // Optional, points the SDK at an S3-compatible stand-in such as MinIO
+    @Value("${spring.aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${spring.aws.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
 
     @Bean
     public S3Client s3Client() {
-        return S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
+                .credentialsProvider(
+                        software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider.create()
+                )
+                .region(Region.of(System.getenv("AWS_REGION")))
+                .forcePathStyle(pathStyleAccess);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    // Long-lived: building a presigner resolves the credential chain, so it
+    // must not be created per URL. Closed by Spring on shutdown.
+    @Bean
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
                 .credentialsProvider(
                         software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider.create()
                 )
                 .region(Region.of(System.getenv("AWS_REGION")))
-                .build();
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyleAccess)
+                        .build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
     }
 }
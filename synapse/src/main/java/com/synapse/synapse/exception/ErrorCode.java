@@ -24,6 +24,9 @@ public enum ErrorCode {
     USER_NOT_FOUND("USER_NOT_FOUND", "User not found", NOT_FOUND),
     ACCOUNT_ALREADY_DEACTIVATED("ACCOUNT_ALREADY_DEACTIVATED", "Account has been deactivated", BAD_REQUEST),
     BAD_CREDENTIALS("BAD_CREDENTIALS", "Username and / or password is incorrect", UNAUTHORIZED),
+    TOO_MANY_REQUESTS("ERR_TOO_MANY_REQUESTS", "Too many attempts, please wait before trying again", HttpStatus.TOO_MANY_REQUESTS),
+    PASSWORD_HASHING_BUSY("ERR_SERVER_BUSY", "Too many sign-in requests right now, please retry shortly", SERVICE_UNAVAILABLE),
+    INVALID_REFRESH_TOKEN("INVALID_REFRESH_TOKEN", "The refresh token is no longer valid, please log in again", UNAUTHORIZED),
     INTERNAL_EXCEPTION("INTERNAL_EXCEPTION",
             "An internal exception occurred, please try again or contact the admin",
             HttpStatus.INTERNAL_SERVER_ERROR),
@@ -50,6 +53,41 @@ public enum ErrorCode {
             "Link not found",
             HttpStatus.NOT_FOUND
     ),
+    MALFORMED_ID(
+            "ERR_NOT_FOUND",
+            "No resource exists with this id",
+            HttpStatus.NOT_FOUND
+    ),
+    INVALID_VIEWPORT(
+            "ERR_INVALID_VIEWPORT",
+            "Viewport min coordinates must not exceed max coordinates",
+            HttpStatus.BAD_REQUEST
+    ),
+    INVALID_SYNC_CURSOR(
+            "ERR_INVALID_SYNC_CURSOR",
+            "The sync cursor is not valid for this board",
+            HttpStatus.BAD_REQUEST
+    ),
+    SYNC_RESYNC_REQUIRED(
+            "ERR_SYNC_RESYNC_REQUIRED",
+            "Changes since this cursor are no longer retained, reload the board snapshot",
+            HttpStatus.GONE
+    ),
+    INVALID_IMPORT(
+            "ERR_INVALID_IMPORT",
+            "The import document is malformed: expected board, then notes, then links referencing those notes",
+            HttpStatus.BAD_REQUEST
+    ),
+    IMPORT_TOO_LARGE(
+            "ERR_IMPORT_TOO_LARGE",
+            "The import document has more notes than a single board allows",
+            HttpStatus.CONTENT_TOO_LARGE
+    ),
+    INVALID_EXPORT_FORMAT(
+            "ERR_INVALID_EXPORT_FORMAT",
+            "Export format must be json or ndjson",
+            HttpStatus.BAD_REQUEST
+    ),
     FILE_UPLOAD_FAILED(
             "ERR_FILE_UPLOAD_FAILED",
             "Image upload failed. Please try again.",
@@ -66,6 +104,21 @@ public enum ErrorCode {
             "Only image files are allowed",
             HttpStatus.BAD_REQUEST
     ),
+    FILE_TOO_LARGE(
+            "ERR_FILE_TOO_LARGE",
+            "Uploaded file exceeds the maximum allowed size",
+            HttpStatus.BAD_REQUEST
+    ),
+    INVALID_IMAGE_KEY(
+            "ERR_INVALID_IMAGE_KEY",
+            "The image key does not belong to this note",
+            HttpStatus.BAD_REQUEST
+    ),
+    IMAGE_NOT_UPLOADED(
+            "ERR_IMAGE_NOT_UPLOADED",
+            "No uploaded image was found for this key",
+            HttpStatus.CONFLICT
+    ),
     INVALID_ACTIVATION_CODE(
             "ERR_INVALID_ACTIVATION_CODE",
             "Invalid activation code",
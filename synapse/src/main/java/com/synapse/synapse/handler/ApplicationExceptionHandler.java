@@ -4,6 +4,8 @@ import com.synapse.synapse.exception.BusinessException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +29,7 @@ import static org.springframework.http.HttpStatus.*;
 @RequiredArgsConstructor
 public class ApplicationExceptionHandler {
 
+    private static final String INVALID_TEXT_REPRESENTATION = "22P02";
 
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusiness(final BusinessException ex) {
@@ -92,6 +96,22 @@ public class ApplicationExceptionHandler {
         return new ResponseEntity<>(errorResponse, NOT_FOUND);
     }
 
+    // ids are stored as uuid, so Postgres rejects a malformed id in a path or
+    // body (invalid_text_representation) instead of simply matching no row
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleException(final DataIntegrityViolationException exception) {
+        if (NestedExceptionUtils.getMostSpecificCause(exception) instanceof SQLException sqlException
+                && INVALID_TEXT_REPRESENTATION.equals(sqlException.getSQLState())) {
+            log.debug(exception.getMessage(), exception);
+            final ErrorResponse response = ErrorResponse.builder()
+                    .code(MALFORMED_ID.getCode())
+                    .message(MALFORMED_ID.getDefaultMessage())
+                    .build();
+            return new ResponseEntity<>(response, MALFORMED_ID.getStatus());
+        }
+        return handleException((Exception) exception);
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleException(final UsernameNotFoundException exception) {
         log.debug(exception.getMessage(), exception);
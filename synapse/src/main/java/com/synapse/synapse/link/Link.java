@@ -17,15 +17,19 @@ import lombok.experimental.SuperBuilder;
 public class Link extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "board_id", nullable = false)
+    @JoinColumn(name = "board_id", nullable = false, columnDefinition = "uuid")
     private Board board;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "from_note_id", nullable = false)
+    @JoinColumn(name = "from_note_id", nullable = false, columnDefinition = "uuid")
     private Note fromNote;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "to_note_id", nullable = false)
+    @JoinColumn(name = "to_note_id", nullable = false, columnDefinition = "uuid")
     private Note toNote;
+
+    // board cursor value of the last change to this link
+    @Column(name = "CHANGE_VERSION", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long changeVersion;
 }
 
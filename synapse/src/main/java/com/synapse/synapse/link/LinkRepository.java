@@ -1,5 +1,6 @@
 package com.synapse.synapse.link;
 
+import com.synapse.synapse.common.OwnershipView;
 import com.synapse.synapse.note.Note;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -17,6 +18,15 @@ public interface LinkRepository extends JpaRepository<Link, String> {
 
     Optional<Link> findByIdAndBoardId(String id, String boardId);
 
+    @Query("SELECT l.board.id AS boardId, l.createdBy AS createdBy, l.board.owner.id AS boardOwnerId "
+            + "FROM Link l WHERE l.id = :linkId")
+    Optional<OwnershipView> findOwnershipById(@Param("linkId") String linkId);
+
+    List<Link> findAllByBoardIdAndChangeVersionGreaterThan(String boardId, long since);
+
+    @Query("SELECT l.id FROM Link l WHERE l.fromNote = :note OR l.toNote = :note")
+    List<String> findIdsByNote(@Param("note") Note note);
+
     @Modifying
     @Query("DELETE FROM Link l WHERE l.fromNote = :note OR l.toNote = :note")
     void deleteByFromNoteOrToNote(@Param("note") Note note1, @Param("note") Note note2);
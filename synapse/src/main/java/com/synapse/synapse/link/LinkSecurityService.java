@@ -1,5 +1,7 @@
 package com.synapse.synapse.link;
 
+import com.synapse.synapse.board.BoardOwnershipService;
+import com.synapse.synapse.common.OwnershipView;
 import com.synapse.synapse.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -7,11 +9,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class LinkSecurityService {
 
     private final LinkRepository LinkRepository;
+    private final BoardOwnershipService boardOwnership;
 
     @Transactional(readOnly = true)
     public boolean isLinkOwner(final String linkId) {
@@ -19,10 +24,15 @@ public class LinkSecurityService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userId = ((User) authentication.getPrincipal()).getId();
 
-        Link link = LinkRepository.findById(linkId)
-                .orElseThrow(() -> new RuntimeException("Link not found"));
+        Optional<OwnershipView> ownership = LinkRepository.findOwnershipById(linkId);
+        if (ownership.isEmpty()) {
+            return false;
+        }
 
-        return link.getCreatedBy().equals(userId);
+        OwnershipView view = ownership.get();
+        if (userId.equals(view.getBoardOwnerId())) {
+            boardOwnership.remember(view.getBoardId(), userId);
+        }
+        return userId.equals(view.getCreatedBy());
     }
 }
-
@@ -1,11 +1,13 @@
 package com.synapse.synapse.link;
 
 import com.synapse.synapse.board.Board;
-import com.synapse.synapse.board.BoardRepository;
+import com.synapse.synapse.board.BoardOwnershipService;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.exception.ErrorCode;
 import com.synapse.synapse.note.Note;
 import com.synapse.synapse.note.NoteRepository;
+import com.synapse.synapse.sync.BoardChangeTracker;
+import com.synapse.synapse.sync.ChangeEntityType;
 import com.synapse.synapse.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -20,9 +22,10 @@ import java.util.List;
 public class LinkServiceImpl implements LinkService {
 
     private final LinkRepository linkRepository;
-    private final BoardRepository boardRepository;
+    private final BoardOwnershipService boardOwnership;
     private final NoteRepository noteRepository;
     private final LinkMapper linkMapper;
+    private final BoardChangeTracker changeTracker;
 
     @Override
     @Transactional(readOnly = true)
@@ -56,6 +59,7 @@ public class LinkServiceImpl implements LinkService {
                 .board(board)
                 .fromNote(fromNote)
                 .toNote(toNote)
+                .changeVersion(changeTracker.nextVersion(board.getId()))
                 .build();
 
         return linkMapper.toResponse(linkRepository.save(link));
@@ -71,6 +75,8 @@ public class LinkServiceImpl implements LinkService {
         }
 
         linkRepository.deleteById(linkId);
+        changeTracker.recordDeletion(board.getId(), ChangeEntityType.LINK, linkId,
+                changeTracker.nextVersion(board.getId()));
     }
 
     // ===== Helpers =====
@@ -78,7 +84,7 @@ public class LinkServiceImpl implements LinkService {
     private Board loadUserBoard(String boardId, Authentication authentication) {
         User user = (User) authentication.getPrincipal();
 
-        return boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        return boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
     }
 
@@ -114,6 +120,7 @@ public class LinkServiceImpl implements LinkService {
             throw new IllegalArgumentException("A link cannot point to the same note");
         }
 
+        link.setChangeVersion(changeTracker.nextVersion(board.getId()));
         return linkMapper.toResponse(linkRepository.save(link));
     }
 
@@ -121,7 +128,7 @@ public class LinkServiceImpl implements LinkService {
     public LinkResponse getLinkById(String boardId, String linkId, User user) {
 
         // check board ownership
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
 
         // check link belongs to board
@@ -0,0 +1,39 @@
+package com.synapse.synapse.note;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One stored image object, shared by every note whose upload had the same
+// content. The object is removed from storage when refCount drops to zero.
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "IMAGE_BLOBS")
+public class ImageBlob {
+
+    // blobs/{sha256}, or notes/{noteId}/... once shared by a board copy
+    @Id
+    @Column(name = "STORAGE_KEY")
+    private String storageKey;
+
+    // null for per-note keys counted once a duplicated board shares them
+    @Column(name = "CONTENT_HASH", length = 64)
+    private String contentHash;
+
+    @Column(name = "CONTENT_TYPE")
+    private String contentType;
+
+    @Column(name = "SIZE_BYTES", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "REF_COUNT", nullable = false)
+    private int refCount;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+}
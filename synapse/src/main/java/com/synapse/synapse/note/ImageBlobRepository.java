@@ -0,0 +1,54 @@
+package com.synapse.synapse.note;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // Takes the row lock, so concurrent uploads of the same content queue
+    // behind the first one until its object is in storage
+    @Modifying
+    @Query(value = "INSERT INTO image_blobs (storage_key, content_hash, content_type, size_bytes, ref_count, created_date) "
+            + "VALUES (:key, :hash, :contentType, :size, 1, now()) "
+            + "ON CONFLICT (storage_key) DO UPDATE SET ref_count = image_blobs.ref_count + 1", nativeQuery = true)
+    int acquire(
+            @Param("key") String key,
+            @Param("hash") String hash,
+            @Param("contentType") String contentType,
+            @Param("size") long size
+    );
+
+    @Query(value = "SELECT ref_count FROM image_blobs WHERE storage_key = :key", nativeQuery = true)
+    int findRefCount(@Param("key") String key);
+
+    @Modifying
+    @Query(value = "UPDATE image_blobs SET ref_count = ref_count - 1 WHERE storage_key = :key AND ref_count > 0",
+            nativeQuery = true)
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Query(value = "DELETE FROM image_blobs WHERE storage_key = :key AND ref_count = 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("key") String key);
+
+    // Per-note keys of a board get a row the first time they are shared; until
+    // then their only reference is the note that uploaded them
+    @Modifying
+    @Query(value = "INSERT INTO image_blobs (storage_key, content_type, size_bytes, ref_count, created_date) "
+            + "SELECT DISTINCT image_url, NULL, 0, 1, now() FROM notes "
+            + "WHERE board_id = :boardId AND image_url IS NOT NULL AND image_url NOT LIKE 'blobs/%' "
+            + "ON CONFLICT (storage_key) DO NOTHING", nativeQuery = true)
+    int adoptBoardKeys(@Param("boardId") String boardId);
+
+    // Adds one reference per note of the board; returns the number of keys counted
+    @Modifying
+    @Query(value = "UPDATE image_blobs SET ref_count = image_blobs.ref_count + refs.notes "
+            + "FROM (SELECT image_url, count(*) AS notes FROM notes "
+            + "WHERE board_id = :boardId AND image_url IS NOT NULL GROUP BY image_url) refs "
+            + "WHERE image_blobs.storage_key = refs.image_url", nativeQuery = true)
+    int acquireBoardKeys(@Param("boardId") String boardId);
+
+    @Query(value = "SELECT count(DISTINCT image_url) FROM notes WHERE board_id = :boardId", nativeQuery = true)
+    int countBoardKeys(@Param("boardId") String boardId);
+}
@@ -0,0 +1,94 @@
+package com.synapse.synapse.note;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Content-addressed image storage. Identical uploads share one object under
+// blobs/{sha256}; IMAGE_BLOBS counts the notes pointing at it. Board
+// duplication adds per-note keys to the count when it shares them.
+//
+// Both operations run in the caller's transaction and talk to storage while
+// holding the blob row lock: the first uploader commits only after its PUT,
+// and the last releaser deletes the object before its row delete commits,
+// so a concurrent upload of the same content never sees a dangling row.
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class ImageBlobService {
+
+    static final String BLOB_PREFIX = "blobs/";
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final S3Service s3Service;
+
+    public String store(MultipartFile file) throws IOException {
+        String hash = sha256(file);
+        String key = BLOB_PREFIX + hash;
+
+        imageBlobRepository.acquire(key, hash, file.getContentType(), file.getSize());
+        if (imageBlobRepository.findRefCount(key) == 1) {
+            s3Service.uploadFile(file, key);
+        }
+        return key;
+    }
+
+    public void release(String key) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+
+        // blob keys, and per-note keys shared by a duplicated board, are counted
+        if (imageBlobRepository.release(key) == 1) {
+            if (imageBlobRepository.deleteIfUnreferenced(key) == 1) {
+                s3Service.deleteFile(key);
+            }
+            return;
+        }
+
+        // other per-note keys (direct uploads, pre-deduplication) have a single owner
+        if (!key.startsWith(BLOB_PREFIX)) {
+            s3Service.deleteFile(key);
+        }
+    }
+
+    // Called after a board's notes were copied with their image keys: every
+    // copied note takes a reference, so the objects outlive either board.
+    public void shareBoardImages(String boardId) {
+        imageBlobRepository.adoptBoardKeys(boardId);
+        int keys = imageBlobRepository.countBoardKeys(boardId);
+        // a key released meanwhile by its last note no longer has a row
+        if (imageBlobRepository.acquireBoardKeys(boardId) != keys) {
+            throw new ConcurrencyFailureException("An image of board " + boardId + " was deleted while it was shared");
+        }
+    }
+
+    // Reads the upload locally (memory or the servlet temp file) so a
+    // duplicate never has to be sent to storage at all
+    private static String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
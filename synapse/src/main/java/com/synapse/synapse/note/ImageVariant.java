@@ -0,0 +1,38 @@
+package com.synapse.synapse.note;
+
+// Downscaled copies of a note image, stored next to the original object.
+// Clients pick one with the imageSize hint on note listings.
+public enum ImageVariant {
+    THUMB(160),
+    MEDIUM(640),
+    ORIGINAL(0);
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public String keyFor(String originalKey) {
+        if (this == ORIGINAL) {
+            return originalKey;
+        }
+        return originalKey + "." + name().toLowerCase() + ".jpg";
+    }
+
+    public static ImageVariant fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return ORIGINAL;
+        }
+
+        try {
+            return ImageVariant.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return ORIGINAL; // safe fallback
+        }
+    }
+}
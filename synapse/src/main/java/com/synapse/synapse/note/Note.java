@@ -27,6 +27,10 @@ public class Note extends BaseEntity {
     @Column(name = "IMAGE_URL")
     private String imageUrl; //path to S3 uploads
 
+    // set once the THUMB/MEDIUM variants of imageUrl exist in storage
+    @Column(name = "IMAGE_VARIANTS", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean imageVariantsReady;
+
     @Column(name = "COLOR")
     private String color;
 
@@ -43,14 +47,18 @@ public class Note extends BaseEntity {
     private Double width;
     private Double height;
 
+    // board cursor value of the last change to this note
+    @Column(name = "CHANGE_VERSION", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long changeVersion;
+
 
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "BOARD_ID", nullable = false)
+    @JoinColumn(name = "BOARD_ID", nullable = false, columnDefinition = "uuid")
     private Board board;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "AUTHOR_ID", nullable = false)
+    @JoinColumn(name = "AUTHOR_ID", nullable = false, columnDefinition = "uuid")
     private User author;
 }
 
@@ -0,0 +1,29 @@
+package com.synapse.synapse.note;
+
+import com.synapse.synapse.user.User;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+// Lives outside NoteController because "notes:batch" is a custom method on the
+// collection and cannot be expressed below the "/notes" class mapping.
+@RestController
+@RequestMapping("/api/v1/boards/{boardId}")
+@RequiredArgsConstructor
+public class NoteBatchController {
+
+    private final NoteService noteService;
+
+    @PatchMapping("/notes:batch")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void batchUpdatePositions(
+            @PathVariable String boardId,
+            @RequestBody @Valid NoteBatchPositionRequest request,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        noteService.batchUpdatePositions(boardId, request, user);
+    }
+}
@@ -0,0 +1,20 @@
+package com.synapse.synapse.note;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoteBatchPositionRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid NotePositionUpdate> notes;
+}
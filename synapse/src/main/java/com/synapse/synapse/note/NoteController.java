@@ -29,11 +29,28 @@ public class NoteController {
     @GetMapping
     public List<NoteResponseDto> getNotes(
             @PathVariable String boardId,
+            @RequestParam(required = false) String imageSize,
             Authentication authentication
     ) {
         User user = (User) authentication.getPrincipal();
-        return noteService.getNotes(boardId, user);
+        return noteService.getNotes(boardId, ImageVariant.fromString(imageSize), user);
     }
+    // Notes intersecting the visible canvas area, served by the bounding-box index
+    @GetMapping(params = {"minX", "minY", "maxX", "maxY"})
+    public List<NoteResponseDto> getNotesInViewport(
+            @PathVariable String boardId,
+            @RequestParam double minX,
+            @RequestParam double minY,
+            @RequestParam double maxX,
+            @RequestParam double maxY,
+            @RequestParam(required = false) String imageSize,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return noteService.getNotesInViewport(
+                boardId, minX, minY, maxX, maxY, ImageVariant.fromString(imageSize), user);
+    }
+
     @GetMapping("/{noteId}")
     @PreAuthorize("@noteSecurityService.isNoteOwner(#noteId)")
     public NoteResponseDto getNoteById(
@@ -74,10 +91,11 @@ public class NoteController {
             @PathVariable String boardId,
             @PathVariable String noteId,
             @RequestBody NoteRequestDto dto,
+            @RequestParam(defaultValue = "false") boolean writeBehind,
             Authentication authentication
     ) {
         User user = (User) authentication.getPrincipal();
-        return noteService.patch(boardId, noteId, dto, user);
+        return noteService.patch(boardId, noteId, dto, user, writeBehind);
     }
 
 
@@ -119,6 +137,34 @@ public class NoteController {
         return noteService.uploadImage(boardId, noteId, file, user);
     }
 
+    // Direct upload, step 1: presigned PUT URL scoped to notes/{noteId}/
+    @PostMapping("/{noteId}/image/upload-url")
+    @PreAuthorize("@noteSecurityService.isNoteOwner(#noteId)")
+    @Operation(summary = "Get a presigned URL to upload a note image directly to storage")
+    public NoteImageUploadResponse createImageUpload(
+            @PathVariable String boardId,
+            @PathVariable String noteId,
+            @Valid @RequestBody NoteImageUploadRequest request,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return noteService.createImageUpload(boardId, noteId, request, user);
+    }
+
+    // Direct upload, step 2: attach the uploaded object to the note
+    @PostMapping("/{noteId}/image/confirm")
+    @PreAuthorize("@noteSecurityService.isNoteOwner(#noteId)")
+    @Operation(summary = "Confirm a directly uploaded note image")
+    public NoteResponseDto confirmImageUpload(
+            @PathVariable String boardId,
+            @PathVariable String noteId,
+            @Valid @RequestBody NoteImageConfirmRequest request,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return noteService.confirmImageUpload(boardId, noteId, request, user);
+    }
+
     @DeleteMapping("/{noteId}/image")
     @PreAuthorize("@noteSecurityService.isNoteOwner(#noteId)")
     @ResponseStatus(HttpStatus.NO_CONTENT)
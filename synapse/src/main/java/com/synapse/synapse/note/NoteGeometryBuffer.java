@@ -0,0 +1,221 @@
+package com.synapse.synapse.note;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Write-behind buffer for live drags. Geometry patches are coalesced per note
+// in memory and flushed in one batch per board on a short interval.
+//
+// Boards are drained without blocking request threads and written outside
+// any in-memory lock. Every pending entry carries a per-board sequence
+// number; a synchronous write fences the notes it is about to overwrite, and
+// the flush drops drained entries older than a fence once it holds the
+// board's version lock, so an older buffered drag can never commit after a
+// newer direct write.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class NoteGeometryBuffer {
+
+    private final NoteGeometryWriter geometryWriter;
+    private final MeterRegistry meterRegistry;
+
+    // boardId -> pending geometry of that board
+    private final ConcurrentHashMap<String, BoardBuffer> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.notes.write-behind.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void submit(String boardId, NotePositionUpdate update, String userId) {
+        while (true) {
+            BoardBuffer board = pending.computeIfAbsent(boardId, id -> new BoardBuffer());
+            if (board.offer(update, userId)) {
+                return;
+            }
+            // retired by the flusher, which drops it from the map right away
+            Thread.onSpinWait();
+        }
+    }
+
+    // Called by synchronous writes before they take the board's version lock:
+    // forgets the pending geometry of the given notes and fences out the
+    // entries an in-flight flush has already drained.
+    public void discard(String boardId, Collection<String> noteIds) {
+        if (!enabled) {
+            return;
+        }
+
+        BoardBuffer board = pending.get(boardId);
+        if (board != null) {
+            board.discard(noteIds);
+        }
+    }
+
+    // One flush at a time, so a board's fences can be cleared once the flush
+    // that drained it is done. Request threads never wait on this monitor.
+    @Scheduled(fixedDelayString = "${app.notes.write-behind.flush-interval-ms:250}")
+    public synchronized void flush() {
+        pending.forEach((boardId, board) -> {
+            List<PendingGeometry> drained = board.drain();
+            if (!drained.isEmpty()) {
+                write(boardId, board, drained);
+            }
+
+            board.clearFences();
+            if (board.retireIfEmpty()) {
+                pending.remove(boardId, board);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingCount() {
+        return pending.values().stream().mapToInt(board -> board.notes.size()).sum();
+    }
+
+    private void write(String boardId, BoardBuffer board, List<PendingGeometry> drained) {
+        Map<String, List<PendingGeometry>> byUser = drained.stream()
+                .collect(Collectors.groupingBy(PendingGeometry::userId));
+
+        byUser.forEach((userId, entries) -> {
+            Map<String, PendingGeometry> byNote = entries.stream()
+                    .collect(Collectors.toMap(entry -> entry.update().getId(), Function.identity()));
+            List<NotePositionUpdate> updates = entries.stream().map(PendingGeometry::update).toList();
+
+            try {
+                // notes deleted in the meantime just update 0 rows
+                geometryWriter.write(boardId, updates, userId,
+                        update -> board.isCurrent(byNote.get(update.getId())));
+            } catch (RuntimeException e) {
+                meterRegistry.counter("notes.write-behind.flush.failures").increment();
+                log.error("Write-behind flush failed for board {} ({} notes), retrying on the next flush",
+                        boardId, updates.size(), e);
+                entries.forEach(board::requeue);
+            }
+        });
+    }
+
+    // Pending geometry of one board. state counts the submitters merging into
+    // it, or is RETIRED once the flusher found it empty and drops it.
+    private static final class BoardBuffer {
+
+        private static final int RETIRED = -1;
+
+        private final ConcurrentHashMap<String, PendingGeometry> notes = new ConcurrentHashMap<>();
+
+        // noteId -> sequence at which a synchronous write took the note over
+        private final ConcurrentHashMap<String, Long> fences = new ConcurrentHashMap<>();
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicInteger state = new AtomicInteger();
+
+        boolean offer(NotePositionUpdate update, String userId) {
+            int current;
+            do {
+                current = state.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!state.compareAndSet(current, current + 1));
+
+            try {
+                PendingGeometry geometry = new PendingGeometry(update, userId, sequence.incrementAndGet());
+                notes.merge(update.getId(), geometry, PendingGeometry::overriddenBy);
+            } finally {
+                state.decrementAndGet();
+            }
+            return true;
+        }
+
+        void discard(Collection<String> noteIds) {
+            long fence = sequence.incrementAndGet();
+            for (String noteId : noteIds) {
+                fences.put(noteId, fence);
+                notes.remove(noteId);
+            }
+        }
+
+        List<PendingGeometry> drain() {
+            List<PendingGeometry> drained = new ArrayList<>();
+            for (String noteId : notes.keySet()) {
+                PendingGeometry geometry = notes.remove(noteId);
+                if (geometry != null) {
+                    drained.add(geometry);
+                }
+            }
+            return drained;
+        }
+
+        boolean isCurrent(PendingGeometry geometry) {
+            Long fence = fences.get(geometry.update().getId());
+            return fence == null || geometry.sequence() > fence;
+        }
+
+        // Anything submitted since the drain is newer and wins field by field
+        void requeue(PendingGeometry failed) {
+            if (isCurrent(failed)) {
+                notes.merge(failed.update().getId(), failed, (newer, older) -> older.overriddenBy(newer));
+            }
+        }
+
+        void clearFences() {
+            fences.clear();
+        }
+
+        // No submitter can be merging once the CAS succeeds, so an empty map
+        // after it stays empty until the caller drops the board.
+        boolean retireIfEmpty() {
+            if (!notes.isEmpty() || !state.compareAndSet(0, RETIRED)) {
+                return false;
+            }
+            if (notes.isEmpty()) {
+                return true;
+            }
+            // a submitter merged and left between the check and the CAS
+            state.set(0);
+            return false;
+        }
+    }
+
+    private record PendingGeometry(NotePositionUpdate update, String userId, long sequence) {
+
+        PendingGeometry overriddenBy(PendingGeometry newer) {
+            NotePositionUpdate older = this.update;
+            NotePositionUpdate latest = newer.update;
+            return new PendingGeometry(
+                    NotePositionUpdate.builder()
+                            .id(latest.getId())
+                            .positionX(latest.getPositionX() != null ? latest.getPositionX() : older.getPositionX())
+                            .positionY(latest.getPositionY() != null ? latest.getPositionY() : older.getPositionY())
+                            .width(latest.getWidth() != null ? latest.getWidth() : older.getWidth())
+                            .height(latest.getHeight() != null ? latest.getHeight() : older.getHeight())
+                            .build(),
+                    newer.userId,
+                    Math.max(sequence, newer.sequence)
+            );
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.synapse.synapse.note;
+
+import com.synapse.synapse.sync.BoardChangeTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+// Shared write path for geometry-only note changes: the batch endpoint and
+// the write-behind buffer both end up here.
+@Component
+@RequiredArgsConstructor
+public class NoteGeometryWriter {
+
+    private final BoardChangeTracker changeTracker;
+    private final NoteJdbcRepository noteJdbcRepository;
+
+    // Returns the update count of every entry, in request order.
+    @Transactional
+    public int[][] write(String boardId, List<NotePositionUpdate> updates, String userId) {
+        long version = changeTracker.nextVersion(boardId);
+        return noteJdbcRepository.batchUpdateGeometry(boardId, updates, userId, version);
+    }
+
+    // Write-behind variant: which updates are still current is decided once
+    // the board's version lock is held, after any synchronous write that got
+    // the lock first has committed.
+    @Transactional
+    public int[][] write(String boardId, List<NotePositionUpdate> updates, String userId,
+                         Predicate<NotePositionUpdate> current) {
+        long version = changeTracker.nextVersion(boardId);
+        List<NotePositionUpdate> stillCurrent = updates.stream().filter(current).toList();
+        if (stillCurrent.isEmpty()) {
+            return new int[0][];
+        }
+        return noteJdbcRepository.batchUpdateGeometry(boardId, stillCurrent, userId, version);
+    }
+}
@@ -0,0 +1,15 @@
+package com.synapse.synapse.note;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoteImageConfirmRequest {
+
+    @NotBlank
+    private String key;
+}
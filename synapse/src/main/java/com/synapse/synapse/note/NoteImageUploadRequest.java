@@ -0,0 +1,30 @@
+package com.synapse.synapse.note;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoteImageUploadRequest {
+
+    @NotBlank
+    @Size(max = 200)
+    private String fileName;
+
+    // Signed into the URL, the PUT must send the same Content-Type
+    @NotBlank
+    @Pattern(regexp = "image/[A-Za-z0-9.+-]+", message = "Only image files are allowed")
+    private String contentType;
+
+    // Signed into the URL as well: storage rejects a PUT of any other length
+    @NotNull
+    @Positive
+    private Long contentLength;
+}
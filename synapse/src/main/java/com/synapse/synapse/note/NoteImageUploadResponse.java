@@ -0,0 +1,17 @@
+package com.synapse.synapse.note;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoteImageUploadResponse {
+
+    private String key;
+    private String uploadUrl;
+    private Instant expiresAt;
+}
@@ -0,0 +1,198 @@
+package com.synapse.synapse.note;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Generates the THUMB and MEDIUM variants of an uploaded note image off the
+// request thread. Variants are best effort: until they exist (or if the pool
+// is saturated) clients are served the original.
+//
+// Dimensions are read from the image header before decoding: sources above
+// max-pixels are skipped, and larger ones are decoded with subsampling so
+// the raster held in memory stays near twice the widest variant.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NoteImageVariantService {
+
+    private final S3Service s3Service;
+    private final NoteImageVariantWriter imageVariantWriter;
+
+    @Value("${app.notes.image-variants.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.notes.image-variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.notes.image-variants.max-pixels:50000000}")
+    private long maxPixels;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity)
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // The note row must carry the new key before the worker marks it, so
+    // generation starts only once the surrounding transaction has committed
+    public void generateAfterCommit(String noteId, String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(noteId, key);
+                }
+            });
+        } else {
+            submit(noteId, key);
+        }
+    }
+
+    private void submit(String noteId, String key) {
+        try {
+            executor.execute(() -> generate(noteId, key));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue full, note {} will serve its original image", noteId);
+        }
+    }
+
+    void generate(String noteId, String key) {
+        try {
+            // deduplicated uploads share variants with the first note
+            if (s3Service.findObject(ImageVariant.MEDIUM.keyFor(key)).isPresent()) {
+                imageVariantWriter.markReady(noteId, key);
+                return;
+            }
+
+            BufferedImage source;
+            try (InputStream in = s3Service.openObject(key);
+                 ImageInputStream image = ImageIO.createImageInputStream(in)) {
+                source = decode(image, key);
+            }
+            if (source == null) {
+                return;
+            }
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (variant != ImageVariant.ORIGINAL) {
+                    s3Service.putObject(variant.keyFor(key), encodeJpeg(resize(source, variant.getWidth())), "image/jpeg");
+                }
+            }
+
+            imageVariantWriter.markReady(noteId, key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate image variants for {}", key, e);
+        }
+    }
+
+    private BufferedImage decode(ImageInputStream image, String key) throws IOException {
+        Iterator<ImageReader> readers = image == null ? null : ImageIO.getImageReaders(image);
+        if (readers == null || !readers.hasNext()) {
+            log.info("No image reader for {}, skipping variants", key);
+            return null;
+        }
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(image, true, true);
+            int width = reader.getWidth(0);
+            long pixels = (long) width * reader.getHeight(0);
+            if (pixels > maxPixels) {
+                log.info("Image {} has {} pixels, above the {} limit, skipping variants", key, pixels, maxPixels);
+                return null;
+            }
+
+            ImageReadParam param = reader.getDefaultReadParam();
+            int step = subsampling(width);
+            param.setSourceSubsampling(step, step, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    // Keeps every step-th pixel while the result is still at least twice as
+    // wide as the widest variant, so resize() has enough detail to work with
+    static int subsampling(int width) {
+        return Math.max(1, width / (2 * ImageVariant.MEDIUM.getWidth()));
+    }
+
+    // Halves the image until it is within 2x of the target, then does a final
+    // bilinear pass; a single large bilinear step would alias badly.
+    static BufferedImage resize(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        if (width <= targetWidth) {
+            return draw(current, width, height);
+        }
+
+        while (width / 2 >= targetWidth) {
+            width /= 2;
+            height = Math.max(1, height / 2);
+            current = draw(current, width, height);
+        }
+
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        // JPEG has no alpha, so transparent areas are flattened onto white
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,32 @@
+package com.synapse.synapse.note;
+
+import com.synapse.synapse.common.OwnershipView;
+import com.synapse.synapse.sync.BoardChangeTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Flags a note's variants as ready from the variant workers. The flag is a
+// visible change, so it takes a board version like any other note write and
+// /changes clients re-fetch the note with its variant URLs.
+@Component
+@RequiredArgsConstructor
+public class NoteImageVariantWriter {
+
+    private final NoteRepository noteRepository;
+    private final BoardChangeTracker changeTracker;
+
+    // no-op if the note is gone or moved on to another image meanwhile
+    @Transactional
+    public void markReady(String noteId, String key) {
+        String boardId = noteRepository.findOwnershipById(noteId)
+                .map(OwnershipView::getBoardId)
+                .orElse(null);
+        if (boardId == null) {
+            return;
+        }
+
+        long version = changeTracker.nextVersion(boardId);
+        noteRepository.markImageVariantsReady(noteId, key, version);
+    }
+}
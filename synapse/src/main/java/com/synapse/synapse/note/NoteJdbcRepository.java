@@ -0,0 +1,54 @@
+package com.synapse.synapse.note;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Plain JDBC for bulk note writes that would otherwise load one entity per row.
+@Repository
+@RequiredArgsConstructor
+public class NoteJdbcRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String UPDATE_GEOMETRY = """
+            UPDATE notes
+               SET position_x = COALESCE(?, position_x),
+                   position_y = COALESCE(?, position_y),
+                   width = COALESCE(?, width),
+                   height = COALESCE(?, height),
+                   change_version = ?,
+                   last_modified_by = ?,
+                   last_modified_date = ?
+             WHERE id = ? AND board_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the update count of every entry, in request order.
+    public int[][] batchUpdateGeometry(
+            String boardId,
+            List<NotePositionUpdate> updates,
+            String modifiedBy,
+            long changeVersion
+    ) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.batchUpdate(UPDATE_GEOMETRY, updates, BATCH_SIZE, (ps, update) -> {
+            ps.setObject(1, update.getPositionX(), Types.DOUBLE);
+            ps.setObject(2, update.getPositionY(), Types.DOUBLE);
+            ps.setObject(3, update.getWidth(), Types.DOUBLE);
+            ps.setObject(4, update.getHeight(), Types.DOUBLE);
+            ps.setLong(5, changeVersion);
+            ps.setString(6, modifiedBy);
+            ps.setTimestamp(7, now);
+            ps.setString(8, update.getId());
+            ps.setString(9, boardId);
+        });
+    }
+}
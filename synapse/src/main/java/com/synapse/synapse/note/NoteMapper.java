@@ -55,10 +55,16 @@ public class NoteMapper {
 
 
     public NoteResponseDto toNoteResponse(Note note) {
+        return toNoteResponse(note, ImageVariant.ORIGINAL);
+    }
+
+    // imageSize is a hint: the original is served until variants are ready
+    public NoteResponseDto toNoteResponse(Note note, ImageVariant imageSize) {
         String presignedUrl = null;
 
         if (note.getImageUrl() != null) {
-            presignedUrl = s3Service.getPresignedUrl(note.getImageUrl());
+            ImageVariant variant = note.isImageVariantsReady() ? imageSize : ImageVariant.ORIGINAL;
+            presignedUrl = s3Service.getPresignedUrl(variant.keyFor(note.getImageUrl()));
         }
 
         return NoteResponseDto.builder()
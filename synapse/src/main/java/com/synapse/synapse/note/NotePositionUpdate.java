@@ -0,0 +1,21 @@
+package com.synapse.synapse.note;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotePositionUpdate {
+
+    @NotBlank
+    private String id;
+
+    // null keeps the stored value
+    private Double positionX;
+    private Double positionY;
+    private Double width;
+    private Double height;
+}
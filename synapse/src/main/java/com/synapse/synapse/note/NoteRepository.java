@@ -1,17 +1,55 @@
 package com.synapse.synapse.note;
 
+import com.synapse.synapse.common.OwnershipView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface NoteRepository extends JpaRepository<Note, String> {
 
+    // Bounding box of a note. Shared by the viewport query and the GiST index
+    // so the planner can match the index expression exactly.
+    String BOUNDING_BOX = "box("
+            + "point(coalesce(position_x, 0), coalesce(position_y, 0)), "
+            + "point(coalesce(position_x, 0) + coalesce(width, 0), coalesce(position_y, 0) + coalesce(height, 0)))";
+
     List<Note> findAllByBoardId(String boardId);
 
+    @Query("SELECT n.imageUrl FROM Note n WHERE n.board.id = :boardId AND n.imageUrl IS NOT NULL")
+    List<String> findImageUrlsByBoardId(@Param("boardId") String boardId);
+
     Optional<Note> findByIdAndBoardId(String id, String boardId);
 
+    @Query("SELECT n.board.id AS boardId, n.createdBy AS createdBy, n.board.owner.id AS boardOwnerId "
+            + "FROM Note n WHERE n.id = :noteId")
+    Optional<OwnershipView> findOwnershipById(@Param("noteId") String noteId);
+
     Optional<Note> findByIdAndBoardIdAndAuthorId(String noteId, String boardId, String authorId);
 
+    List<Note> findAllByBoardIdAndChangeVersionGreaterThan(String boardId, long since);
+
+    @Query(value = "SELECT * FROM notes WHERE board_id = :boardId AND " + BOUNDING_BOX
+            + " && box(point(:minX, :minY), point(:maxX, :maxY))", nativeQuery = true)
+    List<Note> findAllByBoardIdInViewport(
+            @Param("boardId") String boardId,
+            @Param("minX") double minX,
+            @Param("minY") double minY,
+            @Param("maxX") double maxX,
+            @Param("maxY") double maxY
+    );
+
+    @Modifying
+    @Query("UPDATE Note n SET n.imageVariantsReady = true, n.changeVersion = :version "
+            + "WHERE n.id = :noteId AND n.imageUrl = :key")
+    int markImageVariantsReady(
+            @Param("noteId") String noteId,
+            @Param("key") String key,
+            @Param("version") long version
+    );
+
 }
 
@@ -1,5 +1,7 @@
 package com.synapse.synapse.note;
 
+import com.synapse.synapse.board.BoardOwnershipService;
+import com.synapse.synapse.common.OwnershipView;
 import com.synapse.synapse.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -7,11 +9,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class NoteSecurityService {
 
     private final NoteRepository noteRepository;
+    private final BoardOwnershipService boardOwnership;
 
     @Transactional(readOnly = true)
     public boolean isNoteOwner(final String noteId) {
@@ -19,10 +24,15 @@ public class NoteSecurityService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userId = ((User) authentication.getPrincipal()).getId();
 
-        Note note = noteRepository.findById(noteId)
-                .orElseThrow(() -> new RuntimeException("Note not found"));
+        Optional<OwnershipView> ownership = noteRepository.findOwnershipById(noteId);
+        if (ownership.isEmpty()) {
+            return false;
+        }
 
-        return note.getCreatedBy().equals(userId);
+        OwnershipView view = ownership.get();
+        if (userId.equals(view.getBoardOwnerId())) {
+            boardOwnership.remember(view.getBoardId(), userId);
+        }
+        return userId.equals(view.getCreatedBy());
     }
 }
-
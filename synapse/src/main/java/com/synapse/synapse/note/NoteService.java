@@ -1,15 +1,20 @@
 package com.synapse.synapse.note;
 
 import com.synapse.synapse.board.Board;
-import com.synapse.synapse.board.BoardRepository;
+import com.synapse.synapse.board.BoardOwnershipService;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.exception.ErrorCode;
 import com.synapse.synapse.link.LinkRepository;
+import com.synapse.synapse.sync.BoardChangeTracker;
+import com.synapse.synapse.sync.ChangeEntityType;
 import com.synapse.synapse.user.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 import java.io.IOException;
 import java.util.List;
@@ -20,21 +25,58 @@ import java.util.List;
 public class NoteService {
 
     private final NoteRepository noteRepository;
-    private final BoardRepository boardRepository;
+    private final BoardOwnershipService boardOwnership;
     private final NoteMapper noteMapper;
     private final S3Service s3Service;
+    private final ImageBlobService imageBlobService;
+    private final PendingUploadRepository pendingUploadRepository;
     private final LinkRepository  linkRepository;
+    private final BoardChangeTracker changeTracker;
+    private final NoteGeometryWriter geometryWriter;
+    private final NoteGeometryBuffer geometryBuffer;
+    private final NoteImageVariantService imageVariantService;
+
+    // Same limit as the multipart endpoint, applied to direct uploads when the
+    // URL is signed and again on confirm
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxImageSize = DataSize.ofMegabytes(10);
 
     @Transactional(readOnly = true)
-    public List<NoteResponseDto> getNotes(String boardId, User user) {
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+    public List<NoteResponseDto> getNotes(String boardId, ImageVariant imageSize, User user) {
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() ->
                         new BusinessException(ErrorCode.BOARD_NOT_FOUND)
                 );
 
         return noteRepository.findAllByBoardId(board.getId())
                 .stream()
-                .map(noteMapper::toNoteResponse)
+                .map(note -> noteMapper.toNoteResponse(note, imageSize))
+                .toList();
+    }
+
+
+    @Transactional(readOnly = true)
+    public List<NoteResponseDto> getNotesInViewport(
+            String boardId,
+            double minX,
+            double minY,
+            double maxX,
+            double maxY,
+            ImageVariant imageSize,
+            User user
+    ) {
+        if (minX > maxX || minY > maxY) {
+            throw new BusinessException(ErrorCode.INVALID_VIEWPORT);
+        }
+
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
+                .orElseThrow(() ->
+                        new BusinessException(ErrorCode.BOARD_NOT_FOUND)
+                );
+
+        return noteRepository.findAllByBoardIdInViewport(board.getId(), minX, minY, maxX, maxY)
+                .stream()
+                .map(note -> noteMapper.toNoteResponse(note, imageSize))
                 .toList();
     }
 
@@ -43,7 +85,7 @@ public class NoteService {
     public NoteResponseDto getNoteById(String boardId, String noteId, User user) {
 
         // check board ownership
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
 
         // check note belongs to board and user
@@ -59,12 +101,13 @@ public class NoteService {
             NoteRequestDto dto,
             User user
     ) {
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() ->
                         new BusinessException(ErrorCode.BOARD_NOT_FOUND)
                 );
 
         Note note = noteMapper.toEntity(dto, board, user);
+        note.setChangeVersion(changeTracker.nextVersion(board.getId()));
         return noteMapper.toNoteResponse(noteRepository.save(note));
     }
 
@@ -74,7 +117,7 @@ public class NoteService {
             NoteRequestDto dto,
             User user
     ) {
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() ->
                         new BusinessException(ErrorCode.BOARD_NOT_FOUND)
                 );
@@ -84,7 +127,10 @@ public class NoteService {
                         new BusinessException(ErrorCode.NOTE_NOT_FOUND)
                 );
 
+        // before nextVersion(), so a flush that gets the board row after this write skips the note
+        geometryBuffer.discard(board.getId(), List.of(note.getId()));
         noteMapper.updateEntity(note, dto);
+        note.setChangeVersion(changeTracker.nextVersion(board.getId()));
         return noteMapper.toNoteResponse(note);
     }
 
@@ -94,7 +140,19 @@ public class NoteService {
             NoteRequestDto dto,
             User user
     ) {
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        return patch(boardId, noteId, dto, user, false);
+    }
+
+    // With writeBehind, geometry-only patches are queued in the buffer and the
+    // accepted values are echoed back; the row is written on the next flush.
+    public NoteResponseDto patch(
+            String boardId,
+            String noteId,
+            NoteRequestDto dto,
+            User user,
+            boolean writeBehind
+    ) {
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() ->
                         new BusinessException(ErrorCode.BOARD_NOT_FOUND)
                 );
@@ -104,13 +162,73 @@ public class NoteService {
                         new BusinessException(ErrorCode.NOTE_NOT_FOUND)
                 );
 
+        if (writeBehind && geometryBuffer.isEnabled() && isGeometryOnly(dto)) {
+            geometryBuffer.submit(board.getId(), NotePositionUpdate.builder()
+                    .id(note.getId())
+                    .positionX(dto.getPositionX())
+                    .positionY(dto.getPositionY())
+                    .width(dto.getWidth())
+                    .height(dto.getHeight())
+                    .build(), user.getId());
+
+            NoteResponseDto response = noteMapper.toNoteResponse(note);
+            if (dto.getPositionX() != null) response.setPositionX(dto.getPositionX());
+            if (dto.getPositionY() != null) response.setPositionY(dto.getPositionY());
+            if (dto.getWidth() != null) response.setWidth(dto.getWidth());
+            if (dto.getHeight() != null) response.setHeight(dto.getHeight());
+            return response;
+        }
+
+        if (hasGeometry(dto)) {
+            geometryBuffer.discard(board.getId(), List.of(note.getId()));
+        }
         noteMapper.patchEntity(note, dto);
+        note.setChangeVersion(changeTracker.nextVersion(board.getId()));
         return noteMapper.toNoteResponse(note);
     }
 
+    // One ownership check, one cursor bump and one JDBC batch for the whole
+    // selection. Any id outside the board rolls the batch back.
+    public void batchUpdatePositions(
+            String boardId,
+            NoteBatchPositionRequest request,
+            User user
+    ) {
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
+                .orElseThrow(() ->
+                        new BusinessException(ErrorCode.BOARD_NOT_FOUND)
+                );
+
+        geometryBuffer.discard(board.getId(), request.getNotes().stream()
+                .map(NotePositionUpdate::getId)
+                .toList());
+        int[][] counts = geometryWriter.write(board.getId(), request.getNotes(), user.getId());
+
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new BusinessException(ErrorCode.NOTE_NOT_FOUND);
+                }
+            }
+        }
+    }
+
+    private boolean hasGeometry(NoteRequestDto dto) {
+        return dto.getPositionX() != null
+                || dto.getPositionY() != null
+                || dto.getWidth() != null
+                || dto.getHeight() != null;
+    }
+
+    private boolean isGeometryOnly(NoteRequestDto dto) {
+        return dto.getContent() == null
+                && dto.getColor() == null
+                && dto.getNoteType() == null;
+    }
+
     @Transactional
     public void delete(String boardId, String noteId, User user) {
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() ->
                         new BusinessException(ErrorCode.BOARD_NOT_FOUND)
                 );
@@ -120,12 +238,18 @@ public class NoteService {
                         new BusinessException(ErrorCode.NOTE_NOT_FOUND)
                 );
 
+        // Tombstones first, the links are bulk-deleted below
+        long version = changeTracker.nextVersion(board.getId());
+        changeTracker.recordDeletions(board.getId(), ChangeEntityType.LINK,
+                linkRepository.findIdsByNote(note), version);
+        changeTracker.recordDeletion(board.getId(), ChangeEntityType.NOTE, note.getId(), version);
+
         // Delete links referencing this note (both fromNote and toNote)
         linkRepository.deleteByFromNoteOrToNote(note, note);
-        // delete image from S3 first
-        s3Service.deleteFile(note.getImageUrl());
 
         noteRepository.delete(note);
+        // drop this note's reference to its image
+        releaseImage(note.getImageUrl());
     }
     @Transactional
     public NoteResponseDto uploadImage(
@@ -135,7 +259,7 @@ public class NoteService {
             User user
     ) {
         //  Ownership check
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
 
         //  Note belongs to board + author
@@ -147,14 +271,19 @@ public class NoteService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOTE_NOT_FOUND));
 
         try {
-            //  delete old image if exists
-            s3Service.deleteFile(note.getImageUrl());
-            //  Upload to S3
-            String imageUrl = s3Service.uploadFile(file, note.getId());
+            //  Upload to S3, reusing the stored object for duplicate content
+            String previousImageUrl = note.getImageUrl();
+            String imageUrl = imageBlobService.store(file);
 
             //  Persist URL
             note.setImageUrl(imageUrl);
+            note.setImageVariantsReady(false);
+            note.setChangeVersion(changeTracker.nextVersion(board.getId()));
             note = noteRepository.save(note);
+            imageVariantService.generateAfterCommit(note.getId(), imageUrl);
+
+            //  release old image if exists
+            releaseImage(previousImageUrl);
 
             //  Transactional → auto flush
             return noteMapper.toNoteResponse(note);
@@ -164,12 +293,92 @@ public class NoteService {
         }
     }
 
+    public NoteImageUploadResponse createImageUpload(
+            String boardId,
+            String noteId,
+            NoteImageUploadRequest request,
+            User user
+    ) {
+        Note note = findOwnNote(boardId, noteId, user);
+        if (request.getContentLength() > maxImageSize.toBytes()) {
+            throw new BusinessException(ErrorCode.FILE_TOO_LARGE);
+        }
+
+        NoteImageUploadResponse upload = s3Service.presignUpload(
+                note.getId(), request.getFileName(), request.getContentType(), request.getContentLength());
+        pendingUploadRepository.record(upload.getKey(), note.getId());
+        return upload;
+    }
+
+    // Second step of the direct upload: attach the object the client PUT to
+    // storage and drop the image it replaces
+    @Transactional
+    public NoteResponseDto confirmImageUpload(
+            String boardId,
+            String noteId,
+            NoteImageConfirmRequest request,
+            User user
+    ) {
+        Note note = findOwnNote(boardId, noteId, user);
+        String key = request.getKey();
+
+        if (!key.startsWith(S3Service.noteKeyPrefix(note.getId())) || key.contains("..")) {
+            throw new BusinessException(ErrorCode.INVALID_IMAGE_KEY);
+        }
+        if (key.equals(note.getImageUrl())) {
+            // retried confirm
+            return noteMapper.toNoteResponse(note);
+        }
+        // only keys handed out by createImageUpload and not swept yet
+        if (pendingUploadRepository.consume(key) == 0) {
+            throw new BusinessException(ErrorCode.IMAGE_NOT_UPLOADED);
+        }
+
+        HeadObjectResponse object = s3Service.findObject(key)
+                .orElseThrow(() -> new BusinessException(ErrorCode.IMAGE_NOT_UPLOADED));
+
+        if (object.contentType() == null || !object.contentType().startsWith("image/")) {
+            s3Service.deleteFile(key);
+            throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
+        }
+        if (object.contentLength() != null && object.contentLength() > maxImageSize.toBytes()) {
+            s3Service.deleteFile(key);
+            throw new BusinessException(ErrorCode.FILE_TOO_LARGE);
+        }
+
+        String previousKey = note.getImageUrl();
+        note.setImageUrl(key);
+        note.setImageVariantsReady(false);
+        note.setChangeVersion(changeTracker.nextVersion(note.getBoard().getId()));
+        note = noteRepository.save(note);
+        imageVariantService.generateAfterCommit(note.getId(), key);
+
+        if (previousKey != null && !previousKey.equals(key)) {
+            releaseImage(previousKey);
+        }
+
+        return noteMapper.toNoteResponse(note);
+    }
+
+    // Skips the ownership query when this request already proved it
+    private Note findOwnNote(String boardId, String noteId, User user) {
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
+
+        return noteRepository.findByIdAndBoardIdAndAuthorId(
+                        noteId,
+                        board.getId(),
+                        user.getId()
+                )
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOTE_NOT_FOUND));
+    }
+
     public void deleteImage(
             String boardId,
             String noteId,
             User user
     ) {
-        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+        Board board = boardOwnership.findOwnedBoard(boardId, user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
 
         Note note = noteRepository.findByIdAndBoardIdAndAuthorId(
@@ -179,11 +388,24 @@ public class NoteService {
                 )
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOTE_NOT_FOUND));
 
-        //  delete image from S3
-        s3Service.deleteFile(note.getImageUrl());
+        String imageUrl = note.getImageUrl();
 
         //  detach image from note
         note.setImageUrl(null);
+        note.setImageVariantsReady(false);
+        note.setChangeVersion(changeTracker.nextVersion(board.getId()));
+
+        //  release image, deleted from S3 with its last reference
+        releaseImage(imageUrl);
+    }
+
+    // The note's DELETE or UPDATE is flushed first so its row lock is held
+    // before the key is released: a board duplication reading the notes
+    // FOR SHARE has either shared the key already or waits and no longer
+    // sees it, so it never copies a key whose object is being deleted.
+    private void releaseImage(String key) {
+        noteRepository.flush();
+        imageBlobService.release(key);
     }
 
 }
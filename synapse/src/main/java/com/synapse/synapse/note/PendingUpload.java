@@ -0,0 +1,28 @@
+package com.synapse.synapse.note;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A presigned upload key that has not been confirmed yet
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "PENDING_UPLOADS")
+public class PendingUpload {
+
+    // notes/{noteId}/{uuid}-{fileName}
+    @Id
+    @Column(name = "STORAGE_KEY")
+    private String storageKey;
+
+    @Column(name = "NOTE_ID", nullable = false, columnDefinition = "uuid")
+    private String noteId;
+
+    @Column(name = "CREATED_DATE", nullable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,33 @@
+package com.synapse.synapse.note;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_uploads (storage_key, note_id, created_date) VALUES (:key, :noteId, now())",
+            nativeQuery = true)
+    int record(@Param("key") String key, @Param("noteId") String noteId);
+
+    // Row lock until the caller commits: a sweep that got there first makes
+    // this wait and then return 0
+    @Modifying
+    @Query(value = "DELETE FROM pending_uploads WHERE storage_key = :key", nativeQuery = true)
+    int consume(@Param("key") String key);
+
+    // Rows another node is sweeping, or a confirm is consuming, are skipped
+    @Query(value = "SELECT storage_key FROM pending_uploads WHERE created_date < :cutoff "
+            + "ORDER BY created_date LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<String> lockExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM pending_uploads WHERE storage_key IN (:keys)", nativeQuery = true)
+    int deleteAllByKeys(@Param("keys") Collection<String> keys);
+}
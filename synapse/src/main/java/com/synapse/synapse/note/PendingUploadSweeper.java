@@ -0,0 +1,45 @@
+package com.synapse.synapse.note;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Deletes objects uploaded to a presigned URL but never confirmed. The rows
+// stay locked while storage is cleaned, so a late confirm either wins the
+// row first or finds it gone and fails with IMAGE_NOT_UPLOADED.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PendingUploadSweeper {
+
+    private final PendingUploadRepository pendingUploadRepository;
+    private final S3Service s3Service;
+
+    // well past the 10 minute upload signature, so a PUT still in flight is spared
+    @Value("${app.notes.pending-uploads.max-age:1h}")
+    private Duration maxAge = Duration.ofHours(1);
+
+    @Value("${app.notes.pending-uploads.batch-size:500}")
+    private int batchSize = 500;
+
+    @Scheduled(fixedDelayString = "${app.notes.pending-uploads.sweep-interval-ms:600000}")
+    @Transactional
+    public void sweep() {
+        List<String> keys = pendingUploadRepository.lockExpired(LocalDateTime.now().minus(maxAge), batchSize);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        // a failure rolls back, and the remaining rows are retried next run
+        keys.forEach(s3Service::deleteFile);
+        pendingUploadRepository.deleteAllByKeys(keys);
+        log.info("Deleted {} unconfirmed image uploads", keys.size());
+    }
+}
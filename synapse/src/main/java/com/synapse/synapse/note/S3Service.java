@@ -1,33 +1,137 @@
 package com.synapse.synapse.note;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.FilterInputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class S3Service {
 
+    private static final Duration SIGNATURE_DURATION = Duration.ofMinutes(20);
+    private static final Duration UPLOAD_SIGNATURE_DURATION = Duration.ofMinutes(10);
+    // S3 rejects non-final parts smaller than 5 MiB
+    private static final DataSize MIN_PART_SIZE = DataSize.ofMegabytes(5);
+
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.aws.s3.bucket}")
     private String bucket;
 
-    public String uploadFile(MultipartFile file, String noteId) throws IOException {
+    @Value("${app.s3.presigned-url-cache.ttl:15m}")
+    private Duration presignedUrlTtl;
+
+    @Value("${app.s3.presigned-url-cache.max-size:10000}")
+    private long presignedUrlMaxSize;
+
+    @Value("${app.s3.upload.multipart-threshold:8MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${app.s3.upload.part-size:5MB}")
+    private DataSize partSize;
+
+    @Value("${app.s3.upload.part-concurrency:4}")
+    private int partConcurrency;
+
+    // object key -> presigned GET url
+    private Cache<String, String> presignedUrls;
+
+    private ThreadPoolExecutor partUploadExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (presignedUrlTtl.compareTo(SIGNATURE_DURATION.minusMinutes(1)) > 0) {
+            throw new IllegalStateException("Presigned URL cache TTL must expire at least a minute before the "
+                    + SIGNATURE_DURATION.toMinutes() + " minute signature lifetime");
+        }
+
+        this.presignedUrls = Caffeine.newBuilder()
+                .maximumSize(presignedUrlMaxSize)
+                .expireAfterWrite(presignedUrlTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedUrls, "s3.presigned-urls");
+
+        if (partSize.compareTo(MIN_PART_SIZE) < 0) {
+            throw new IllegalStateException("Multipart part size must be at least " + MIN_PART_SIZE);
+        }
+        // Bounded queue: once it is full the uploading request thread sends the
+        // part itself, which throttles uploads instead of queueing without limit
+        this.partUploadExecutor = new ThreadPoolExecutor(
+                partConcurrency,
+                partConcurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(partConcurrency),
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Part upload pool is shut down");
+                    }
+                    task.run();
+                }
+        );
+    }
 
-        String key = "notes/" + noteId + "/" + UUID.randomUUID() + "-" + file.getOriginalFilename();
+    @PreDestroy
+    public void shutdown() {
+        partUploadExecutor.shutdown();
+    }
+
+    public void uploadFile(MultipartFile file, String key) throws IOException {
+        if (file.getSize() >= multipartThreshold.toBytes()) {
+            uploadMultipart(file, key);
+            return;
+        }
 
         PutObjectRequest request = PutObjectRequest.builder()
                 .bucket(bucket)
@@ -35,12 +139,171 @@ public class S3Service {
                 .contentType(file.getContentType())
                 .build();
 
-        s3Client.putObject(
-                request,
-                RequestBody.fromBytes(file.getBytes())
-        );
+        // stream with a known length instead of copying the upload onto the heap
+        try (InputStream in = file.getInputStream()) {
+            s3Client.putObject(request, RequestBody.fromInputStream(in, file.getSize()));
+        }
+    }
+
+    // Each part re-opens the upload and streams its own byte range, so no part
+    // is buffered on the heap and a retried part just reads its range again.
+    private void uploadMultipart(MultipartFile file, String key) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(file.getContentType())
+                        .build())
+                .uploadId();
+
+        long size = file.getSize();
+        long partBytes = partSize.toBytes();
+        List<Future<CompletedPart>> pending = new ArrayList<>();
 
-        return key;
+        try {
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partBytes) {
+                pending.add(submitPart(file, key, uploadId, partNumber++, offset, Math.min(partBytes, size - offset)));
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(pending.size());
+            for (Future<CompletedPart> future : pending) {
+                parts.add(future.get());
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipart(key, uploadId, pending);
+            throw new InterruptedIOException("Multipart upload interrupted");
+        } catch (ExecutionException e) {
+            abortMultipart(key, uploadId, pending);
+            throw new IOException("Multipart upload part failed", e.getCause());
+        } catch (RuntimeException e) {
+            abortMultipart(key, uploadId, pending);
+            throw e;
+        }
+    }
+
+    private Future<CompletedPart> submitPart(
+            MultipartFile file,
+            String key,
+            String uploadId,
+            int partNumber,
+            long offset,
+            long length
+    ) {
+        return partUploadExecutor.submit(() -> {
+            String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .contentLength(length)
+                            .build(),
+                    RequestBody.fromContentProvider(() -> openRange(file, offset, length), length,
+                            "application/octet-stream")).eTag();
+            return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+        });
+    }
+
+    private static InputStream openRange(MultipartFile file, long offset, long length) {
+        InputStream in = null;
+        try {
+            in = file.getInputStream();
+            in.skipNBytes(offset);
+            return new RangeInputStream(in, length);
+        } catch (IOException e) {
+            closeQuietly(in);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in == null) {
+            return;
+        }
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // the part has already failed
+        }
+    }
+
+    private void abortMultipart(String key, String uploadId, List<Future<CompletedPart>> pending) {
+        pending.forEach(future -> future.cancel(true));
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+    }
+
+    public static String noteKeyPrefix(String noteId) {
+        return "notes/" + noteId + "/";
+    }
+
+    private static String newNoteKey(String noteId, String fileName) {
+        return noteKeyPrefix(noteId) + UUID.randomUUID() + "-" + fileName;
+    }
+
+    // Direct-to-storage upload: the client PUTs the bytes to the returned URL
+    // with the same Content-Type and Content-Length, then confirms the key.
+    public NoteImageUploadResponse presignUpload(String noteId, String fileName, String contentType, long contentLength) {
+        String key = newNoteKey(noteId, fileName.replaceAll("[^A-Za-z0-9._-]", "_"));
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(UPLOAD_SIGNATURE_DURATION)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(presignRequest);
+        return NoteImageUploadResponse.builder()
+                .key(key)
+                .uploadUrl(presigned.url().toString())
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    public ResponseInputStream<GetObjectResponse> openObject(String key) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build());
+    }
+
+    public void putObject(String key, byte[] content, String contentType) {
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build(),
+                RequestBody.fromBytes(content));
+    }
+
+    public Optional<HeadObjectResponse> findObject(String key) {
+        try {
+            return Optional.of(s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build()));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
     }
 
     private String getPublicUrl(String key) {
@@ -54,34 +317,102 @@ public class S3Service {
 
         String key = extractKeyFromUrl(imageUrl);
 
-        DeleteObjectRequest request = DeleteObjectRequest.builder()
+        // the original and its variants; missing keys are ignored by S3
+        List<String> keys = Arrays.stream(ImageVariant.values())
+                .map(variant -> variant.keyFor(key))
+                .toList();
+
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
                 .bucket(bucket)
-                .key(key)
+                .delete(Delete.builder()
+                        .objects(keys.stream().map(k -> ObjectIdentifier.builder().key(k).build()).toList())
+                        .quiet(true)
+                        .build())
                 .build();
 
-        s3Client.deleteObject(request);
+        s3Client.deleteObjects(request);
+        presignedUrls.invalidateAll(keys);
     }
     private String extractKeyFromUrl(String imageUrl) {
         // https://bucket.s3.amazonaws.com/notes/noteId/uuid-file.png
+        // notes store the bare key, which is returned unchanged
+        if (!imageUrl.contains(".amazonaws.com/")) {
+            return imageUrl;
+        }
         return imageUrl.substring(
                 imageUrl.indexOf(".amazonaws.com/") + ".amazonaws.com/".length()
         );
     }
 
+    // Cached URLs are dropped before their signature expires, so a client
+    // always receives a URL valid for at least SIGNATURE_DURATION - ttl.
     public String getPresignedUrl(String key) {
-        try (S3Presigner presigner = S3Presigner.create()) {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
+        return presignedUrls.get(key, this::presign);
+    }
+
+    private String presign(String key) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(SIGNATURE_DURATION)
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+
+    // One part's byte range of the upload
+    private static final class RangeInputStream extends FilterInputStream {
 
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(20))
-                    .getObjectRequest(getObjectRequest)
-                    .build();
+        private long remaining;
 
-            return presigner.presignGetObject(presignRequest).url().toString();
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
         }
     }
 }
-
@@ -0,0 +1,59 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Throttles the public auth endpoints: per client IP in RateLimitFilter, and
+// per email once the request body has been read (login and register).
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimits {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.rate-limit.ip.capacity:20}")
+    private int ipCapacity = 20;
+
+    @Value("${app.security.rate-limit.ip.refill-period:1m}")
+    private Duration ipRefillPeriod = Duration.ofMinutes(1);
+
+    @Value("${app.security.rate-limit.email.capacity:5}")
+    private int emailCapacity = 5;
+
+    @Value("${app.security.rate-limit.email.refill-period:5m}")
+    private Duration emailRefillPeriod = Duration.ofMinutes(5);
+
+    @Value("${app.security.rate-limit.slots:65536}")
+    private int slots = 65_536;
+
+    private TokenBucketLimiter byIp;
+    private TokenBucketLimiter byEmail;
+
+    @PostConstruct
+    public void init() {
+        this.byIp = new TokenBucketLimiter("auth.ip", ipCapacity, ipRefillPeriod, slots, meterRegistry);
+        this.byEmail = new TokenBucketLimiter("auth.email", emailCapacity, emailRefillPeriod, slots, meterRegistry);
+    }
+
+    public boolean tryAcquireIp(final String clientIp) {
+        return byIp.tryAcquire(clientIp);
+    }
+
+    public long ipRetryAfterSeconds() {
+        return byIp.retryAfterSeconds();
+    }
+
+    public void checkEmail(final String email) {
+        if (email != null && !byEmail.tryAcquire(email.toLowerCase(Locale.ROOT))) {
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.synapse.synapse.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size Bloom filter of strings, safe for concurrent add and
+// mightContain. Never yields a false negative; false positives stay near
+// the configured rate while insertions stay under the expected count.
+final class BloomFilter {
+
+    private static final long MAX_BITS = 1L << 30;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashes;
+
+    BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        final long expected = Math.max(1, expectedInsertions);
+        final double ln2 = Math.log(2);
+        final long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        final int wordCount = (int) ((Math.max(64, Math.min(bits, MAX_BITS)) + 63) / 64);
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / expected * ln2));
+    }
+
+    void add(final String value) {
+        final long hash = hash64(value);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = index(hash, i);
+            final long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    boolean mightContain(final String value) {
+        final long hash = hash64(value);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = index(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // double hashing: the i-th probe is h1 + i * h2
+    private long index(final long hash, final int i) {
+        final long h1 = hash >>> 32;
+        final long h2 = hash & 0xffffffffL;
+        return (h1 + i * h2) % bitCount;
+    }
+
+    // FNV-1a over the chars, finished with the murmur3 64-bit mix
+    private static long hash64(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
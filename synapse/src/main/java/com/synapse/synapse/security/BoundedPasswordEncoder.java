@@ -0,0 +1,150 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs BCrypt on a small dedicated pool. A request thread still waits for
+// its own hash, but at most pool-size + queue-capacity of them can be tied
+// up by hashing at once; beyond that, or after max-wait, the call fails
+// fast with 503 instead of starving unrelated traffic.
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(
+            final PasswordEncoder delegate,
+            final int poolSize,
+            final int queueCapacity,
+            final Duration maxWait,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+
+        final AtomicInteger threads = new AtomicInteger();
+        final BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "password-hashing-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        // executor.queued / executor.active / executor.pool.size, tagged name=password-hashing
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        this.encodeTimer = Timer.builder("security.password.hash")
+                .tag("operation", "encode")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("security.password.hash")
+                .tag("operation", "matches")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.hash.rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (final RejectedExecutionException e) {
+            rejected.increment();
+            throw new BusinessException(ErrorCode.PASSWORD_HASHING_BUSY);
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new BusinessException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Picks the BCrypt cost whose hash takes closest to the target on this
+    // machine. Every step doubles the work, so one timing at the default
+    // cost is enough. Never goes below the BCrypt default of 10.
+    public static int calibrateStrength(final Duration targetLatency) {
+        final BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("warm-up");
+
+        final int runs = 3;
+        final long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            probe.encode("calibration");
+        }
+        final double perHash = (System.nanoTime() - start) / (double) runs;
+
+        final int extra = (int) Math.round(Math.log(targetLatency.toNanos() / perHash) / Math.log(2));
+        final int strength = Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, MIN_STRENGTH + extra));
+        log.info("BCrypt cost {} takes {} ms here, using cost {} for a {} ms target",
+                MIN_STRENGTH, Math.round(perHash / 1_000_000), strength, targetLatency.toMillis());
+        return strength;
+    }
+}
@@ -0,0 +1,76 @@
+package com.synapse.synapse.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Short-lived principal cache in front of loadUserByUsername, so an
+// authenticated request does not reload the user and its roles each time.
+// Keyed by the lower-cased email, matching findByEmailIgnoreCase.
+@Component
+@RequiredArgsConstructor
+public class CaffeineUserCache implements UserCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.user-cache.ttl:60s}")
+    private Duration ttl = Duration.ofSeconds(60);
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize = 10_000;
+
+    private Cache<String, UserDetails> users;
+
+    @PostConstruct
+    public void init() {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "security.users");
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.getIfPresent(key(username));
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(key(user.getUsername()), user);
+    }
+
+    // Evicts now and, inside a transaction, once more after commit so a
+    // request that reloads the user in between cannot cache the old row
+    @Override
+    public void removeUserFromCache(String username) {
+        String key = key(username);
+        users.invalidate(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
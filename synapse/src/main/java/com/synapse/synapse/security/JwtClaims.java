@@ -0,0 +1,27 @@
+package com.synapse.synapse.security;
+
+import java.time.Instant;
+
+// Verified contents of a token, produced by a single parse in JwtService.validate.
+// userId is null for tokens issued before the uid claim existed, familyId
+// for tokens issued before refresh token rotation.
+public record JwtClaims(
+        String subject,
+        Instant expiresAt,
+        String tokenType,
+        String userId,
+        boolean enabled,
+        boolean locked,
+        int tokenVersion,
+        String familyId,
+        int generation
+) {
+
+    public boolean isAccessToken() {
+        return JwtService.ACCESS_TOKEN.equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.REFRESH_TOKEN.equals(tokenType);
+    }
+}
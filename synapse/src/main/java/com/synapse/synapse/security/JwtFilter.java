@@ -5,11 +5,14 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.synapse.synapse.user.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -24,6 +27,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final RevokedFamilyFilter revokedFamilies;
+
+    // Build the principal from token claims instead of loading the user
+    @Value("${app.security.jwt.stateless-principals:false}")
+    private boolean statelessPrincipals;
 
     @Override
     protected void doFilterInternal(
@@ -43,7 +53,7 @@ public class JwtFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         final String jwt;
-        final String username;
+        final JwtClaims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -51,27 +61,76 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = this.jwtService.extractUsername(jwt);
+        try {
+            // signature, expiry and claims in a single parse
+            claims = this.jwtService.validate(jwt);
+        } catch (final RuntimeException e) {
+            // invalid or expired: continue unauthenticated and let security reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
 
+        // logged out or replayed refresh token: its access tokens die with it
+        if (claims.familyId() != null && this.revokedFamilies.isRevoked(claims.familyId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
+        if (claims.isAccessToken()
+                && claims.subject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            final UserDetails userDetails = resolvePrincipal(claims);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            if (this.jwtService.isTokenValid(jwt, userDetails.getUsername())) {
+            final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities());
 
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        filterChain.doFilter(request, response);
+    }
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+    // null when the token was revoked or the account cannot authenticate
+    private UserDetails resolvePrincipal(final JwtClaims claims) {
+        if (statelessPrincipals && claims.userId() != null) {
+            if (!claims.enabled() || claims.locked()
+                    || !this.tokenVersions.isCurrent(claims.userId(), claims.tokenVersion())) {
+                return null;
             }
+            // Lightweight principal: id and email only, services that need
+            // the full profile load it by id
+            return User.builder()
+                    .id(claims.userId())
+                    .email(claims.subject())
+                    .enabled(true)
+                    .build();
         }
 
-        filterChain.doFilter(request, response);
+        final UserDetails userDetails = loadUser(claims.subject());
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            return null;
+        }
+        if (userDetails instanceof User user && claims.tokenVersion() < user.getTokenVersion()) {
+            return null;
+        }
+        return userDetails;
+    }
+
+    private UserDetails loadUser(final String username) {
+        UserDetails userDetails = this.userCache.getUserFromCache(username);
+        if (userDetails == null) {
+            userDetails = this.userDetailsService.loadUserByUsername(username);
+            this.userCache.putUserInCache(userDetails);
+        }
+        return userDetails;
     }
 }
@@ -0,0 +1,36 @@
+package com.synapse.synapse.security;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Signing key plus the public keys of retiring key pairs. To rotate, make
+// the new pair the signing key and list the old public key under
+// retired-keys with its key id until its longest-lived token (the refresh
+// token) has expired.
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.security.jwt")
+public class JwtKeyProperties {
+
+    // tokens issued before kid headers existed resolve to this id
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private String keyId = DEFAULT_KEY_ID;
+    private String privateKeyPath;
+    private String publicKeyPath;
+    private List<VerificationKey> retiredKeys = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class VerificationKey {
+        private String keyId;
+        private String publicKeyPath;
+    }
+}
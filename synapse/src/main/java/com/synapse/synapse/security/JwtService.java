@@ -1,49 +1,128 @@
 package com.synapse.synapse.security;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.synapse.synapse.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
     public static final String TOKEN_TYPE = "token_type";
+    public static final String ACCESS_TOKEN = "ACCESS_TOKEN";
+    public static final String REFRESH_TOKEN = "REFRESH_TOKEN";
+    public static final String USER_ID = "uid";
+    public static final String ENABLED = "enabled";
+    public static final String LOCKED = "locked";
+    public static final String TOKEN_VERSION = "ver";
+    public static final String FAMILY_ID = "fam";
+    public static final String GENERATION = "gen";
     private PrivateKey privateKey;
     private PublicKey publicKey;
+    // kid -> public key, the signing key plus the retiring ones
+    private Map<String, PublicKey> verificationKeys;
+    // immutable and thread-safe, built once instead of per token
+    private JwtParser parser;
+
+    private final MeterRegistry meterRegistry;
+    private final JwtKeyProperties keys;
+
+    @Value("${app.security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize = 10_000;
+
+    // SHA-256 of the token -> claims it verified to. Keyed by digest so raw
+    // bearer tokens are not kept on the heap; entries die with the token.
+    private Cache<String, JwtClaims> verifiedTokens;
     @Value("${app.security.jwt.access-token-expiration}")
     private long accessTokenExpiration;
     @Value("${app.security.jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
-    @Value("${app.security.jwt.private-key-path}")
-    private String privateKeyPath;
-
-    @Value("${app.security.jwt.public-key-path}")
-    private String publicKeyPath;
-
+    // The signing algorithm follows the key type: RS256 for RSA, ES256 for a
+    // P-256 EC key, EdDSA for Ed25519. Verification picks the key by kid.
     @PostConstruct
     public void init() throws Exception {
-        this.privateKey = KeyUtils.loadPrivateKey(privateKeyPath);
-        this.publicKey = KeyUtils.loadPublicKey(publicKeyPath);
+        this.privateKey = KeyUtils.loadPrivateKey(keys.getPrivateKeyPath());
+        this.publicKey = KeyUtils.loadPublicKey(keys.getPublicKeyPath());
+
+        this.verificationKeys = new HashMap<>();
+        for (final JwtKeyProperties.VerificationKey retired : keys.getRetiredKeys()) {
+            verificationKeys.put(retired.getKeyId(), KeyUtils.loadPublicKey(retired.getPublicKeyPath()));
+        }
+        verificationKeys.put(keys.getKeyId(), this.publicKey);
+
+        this.parser = Jwts.parser()
+                .keyLocator(new KeySetLocator(Map.copyOf(verificationKeys)))
+                .build();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+    }
+
+    // Carries enough to build the principal without a database lookup, and
+    // the user's token version so older tokens can be revoked in bulk
+    public String generateAccessToken(final User user) {
+        return generateAccessToken(user, null);
+    }
+
+    // familyId ties the access token to its login, so revoking the refresh
+    // token family also cuts off the access tokens issued with it
+    public String generateAccessToken(final User user, final String familyId) {
+        final Map<String, Object> claims = userClaims(user, ACCESS_TOKEN);
+        if (familyId != null) {
+            claims.put(FAMILY_ID, familyId);
+        }
+        return buildToken(user.getUsername(), claims, this.accessTokenExpiration);
     }
 
-    public String generateAccessToken(final String username) {
-        final Map<String, Object> claims = Map.of(TOKEN_TYPE, "ACCESS_TOKEN");
-        return buildToken(username, claims, this.accessTokenExpiration);
+    // The generation is the family's rotation counter at issue time; only
+    // the token carrying the current generation can be exchanged
+    public String generateRefreshToken(final User user, final String familyId, final int generation) {
+        final Map<String, Object> claims = userClaims(user, REFRESH_TOKEN);
+        claims.put(FAMILY_ID, familyId);
+        claims.put(GENERATION, generation);
+        return buildToken(user.getUsername(), claims, this.refreshTokenExpiration);
     }
 
-    public String generateRefreshToken(final String username) {
-        final Map<String, Object> claims = Map.of(TOKEN_TYPE, "REFRESH_TOKEN");
-        return buildToken(username, claims, this.refreshTokenExpiration);
+    private static Map<String, Object> userClaims(final User user, final String tokenType) {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE, tokenType);
+        claims.put(USER_ID, user.getId());
+        claims.put(ENABLED, user.isEnabled());
+        claims.put(LOCKED, user.isLocked());
+        claims.put(TOKEN_VERSION, user.getTokenVersion());
+        return claims;
     }
 
     public String buildToken(final String username, final Map<String, Object> claims, final long expiration) {
@@ -52,47 +131,117 @@ public class JwtService {
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
+                .header().keyId(keys.getKeyId()).and()
                 .signWith(this.privateKey)
                 .compact();
     }
 
-    public boolean isTokenValid(final String token, final String expectedUsername) {
-        final String username = extractUsername(token);
-        return username.equals(expectedUsername) && !isTokenExpired(token);
+    // One parse, one signature check, skipped entirely for a token verified
+    // before. The parser rejects expired tokens itself, so a returned value
+    // is always signed and unexpired.
+    public JwtClaims validate(final String token) {
+        final String digest = digest(token);
+        final JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        final Claims claims = extractClaims(token);
+        final Boolean enabled = claims.get(ENABLED, Boolean.class);
+        final Boolean locked = claims.get(LOCKED, Boolean.class);
+        final Integer tokenVersion = claims.get(TOKEN_VERSION, Integer.class);
+        final Integer generation = claims.get(GENERATION, Integer.class);
+        final JwtClaims verified = new JwtClaims(
+                claims.getSubject(),
+                claims.getExpiration().toInstant(),
+                claims.get(TOKEN_TYPE, String.class),
+                claims.get(USER_ID, String.class),
+                enabled == null || enabled,
+                locked != null && locked,
+                tokenVersion == null ? 0 : tokenVersion,
+                claims.get(FAMILY_ID, String.class),
+                generation == null ? 0 : generation
+        );
+        verifiedTokens.put(digest, verified);
+        return verified;
     }
 
-    public String extractUsername(final String token) {
-        return extractClaims(token).getSubject();
+    private static String digest(final String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private boolean isTokenExpired(final String token) {
-        return extractClaims(token).getExpiration()
-                .before(new Date());
+    public String extractUsername(final String token) {
+        return validate(token).subject();
     }
 
     private Claims extractClaims(final String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(this.publicKey)
-                    .build()
+            return this.parser
                     .parseSignedClaims(token)
                     .getPayload();
-        } catch (final JwtException e) {
+        } catch (final JwtException | IllegalArgumentException e) {
             throw new RuntimeException("Invalid token", e);
         }
     }
 
-    public String refreshAccessToken(final String refreshToken) {
-        final Claims claims = extractClaims(refreshToken);
+    public JwtClaims validateRefreshToken(final String refreshToken) {
+        final JwtClaims claims = validate(refreshToken);
 
-        if (!"REFRESH_TOKEN".equals(claims.get(TOKEN_TYPE, String.class))) {
+        if (!claims.isRefreshToken()) {
             throw new RuntimeException("Invalid token type");
         }
-        if (claims.getExpiration().before(new Date())) {
-            throw new RuntimeException("Refresh token expired");
+
+        return claims;
+    }
+
+    private static final class KeySetLocator extends LocatorAdapter<Key> {
+
+        private final Map<String, PublicKey> verificationKeys;
+
+        private KeySetLocator(final Map<String, PublicKey> verificationKeys) {
+            this.verificationKeys = verificationKeys;
+        }
+
+        @Override
+        protected Key locate(final JwsHeader header) {
+            final String keyId = header.getKeyId() == null ? JwtKeyProperties.DEFAULT_KEY_ID : header.getKeyId();
+            final PublicKey key = verificationKeys.get(keyId);
+            if (key == null) {
+                throw new JwtException("Unknown signing key " + keyId);
+            }
+            return key;
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(final String key, final JwtClaims claims, final long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                final String key,
+                final JwtClaims claims,
+                final long currentTime,
+                final long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
         }
 
-        final String username = claims.getSubject();
-        return generateAccessToken(username);
+        @Override
+        public long expireAfterRead(
+                final String key,
+                final JwtClaims claims,
+                final long currentTime,
+                final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
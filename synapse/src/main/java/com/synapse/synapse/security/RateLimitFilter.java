@@ -0,0 +1,58 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.exception.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Per-IP token bucket in front of the public auth endpoints, each of which
+// costs a BCrypt check, a database write or an email. The client address is
+// getRemoteAddr, so behind a proxy set server.forward-headers-strategy.
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH = "/api/v1/auth/";
+
+    // same shape as ErrorResponse, written without a mapper
+    private static final byte[] TOO_MANY_REQUESTS_BODY = ("{\"code\":\"" + ErrorCode.TOO_MANY_REQUESTS.getCode()
+            + "\",\"message\":\"" + ErrorCode.TOO_MANY_REQUESTS.getDefaultMessage() + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AuthRateLimits rateLimits;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return !request.getServletPath().startsWith(AUTH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull
+            final HttpServletRequest request,
+            @NonNull
+            final HttpServletResponse response,
+            @NonNull
+            final FilterChain filterChain) throws ServletException, IOException {
+
+        if (this.rateLimits.tryAcquireIp(request.getRemoteAddr())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(ErrorCode.TOO_MANY_REQUESTS.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(this.rateLimits.ipRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+}
@@ -0,0 +1,83 @@
+package com.synapse.synapse.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.synapse.synapse.auth.RefreshTokenFamilyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Answers "is this token family revoked?" for every authenticated request.
+// A Bloom filter of revoked family ids rules out the common case in memory;
+// only a possible hit (a real revocation or a false positive) is confirmed
+// against the database. Local revocations apply at once, other nodes'
+// on the next reload.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RevokedFamilyFilter {
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.refresh-tokens.expected-revocations:100000}")
+    private long expectedRevocations = 100_000;
+
+    @Value("${app.security.refresh-tokens.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    private volatile BloomFilter revoked;
+    // revoked locally while a reload was running, re-applied to its result
+    private volatile Set<String> revokedSinceReload = ConcurrentHashMap.newKeySet();
+    // familyId -> revoked, for ids the filter could not rule out
+    private Cache<String, Boolean> confirmed;
+
+    @PostConstruct
+    public void init() {
+        this.revoked = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, confirmed, "security.revoked-families");
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.refresh-tokens.revocation-refresh-ms:30000}")
+    public void reload() {
+        final Set<String> racing = ConcurrentHashMap.newKeySet();
+        this.revokedSinceReload = racing;
+        try {
+            final BloomFilter loaded = new BloomFilter(expectedRevocations, falsePositiveRate);
+            familyRepository.findRevokedIds(LocalDateTime.now()).forEach(loaded::add);
+            this.revoked = loaded;
+            racing.forEach(loaded::add);
+        } catch (RuntimeException e) {
+            log.warn("Revoked token family reload failed, keeping the previous filter", e);
+        }
+    }
+
+    public void record(final String familyId) {
+        revokedSinceReload.add(familyId);
+        revoked.add(familyId);
+        confirmed.put(familyId, true);
+    }
+
+    public boolean isRevoked(final String familyId) {
+        if (!revoked.mightContain(familyId)) {
+            return false;
+        }
+        return confirmed.get(familyId, familyRepository::existsByIdAndRevokedTrue);
+    }
+}
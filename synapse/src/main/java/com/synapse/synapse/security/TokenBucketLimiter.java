@@ -0,0 +1,129 @@
+package com.synapse.synapse.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+
+// Token bucket per key in fixed primitive tables, so a check allocates
+// nothing. Each bucket is kept as a single "theoretical arrival time" (the
+// GCRA form of a token bucket): a request adds one emission interval, and is
+// refused once that runs further ahead of now than capacity intervals.
+//
+// Keys hash into a fixed number of slots guarded by striped locks. Keys that
+// share a slot share its bucket, so a collision only ever makes the limit
+// stricter. The hash is SipHash-2-4 under a per-instance random key, so
+// clients cannot pick keys that collide with someone else's on purpose.
+public class TokenBucketLimiter {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    // nanoTime() has an arbitrary, possibly negative, origin: times are
+    // measured from construction so a zeroed slot is always in the past
+    private final long origin;
+    private final long hashKey0;
+    private final long hashKey1;
+    private final int slotMask;
+    private final long[] arrivals;
+    private final Object[] locks;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public TokenBucketLimiter(
+            final String name,
+            final int capacity,
+            final Duration refillPeriod,
+            final int slots,
+            final MeterRegistry meterRegistry
+    ) {
+        if (capacity < 1 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("Capacity must be positive and slots a power of two");
+        }
+        // one token comes back every refillPeriod / capacity
+        this.emissionIntervalNanos = refillPeriod.toNanos() / capacity;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.origin = System.nanoTime();
+        final SecureRandom random = new SecureRandom();
+        this.hashKey0 = random.nextLong();
+        this.hashKey1 = random.nextLong();
+        this.slotMask = slots - 1;
+        this.arrivals = new long[slots];
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        this.allowed = Counter.builder("security.rate-limit")
+                .tag("limiter", name)
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.rate-limit")
+                .tag("limiter", name)
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire(final String key) {
+        final int slot = (int) sipHash(key) & slotMask;
+        final long now = System.nanoTime() - origin;
+
+        final boolean permitted;
+        synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+            final long next = Math.max(arrivals[slot], now) + emissionIntervalNanos;
+            permitted = next - now <= burstNanos;
+            if (permitted) {
+                arrivals[slot] = next;
+            }
+        }
+
+        (permitted ? allowed : rejected).increment();
+        return permitted;
+    }
+
+    // time until the next token, as an upper bound for Retry-After
+    public long retryAfterSeconds() {
+        return Math.max(1, Duration.ofNanos(emissionIntervalNanos).toSeconds());
+    }
+
+    // SipHash-2-4 over the UTF-16 code units, four per word, so the key
+    // is hashed without allocating an encoded copy
+    private long sipHash(final String key) {
+        long v0 = hashKey0 ^ 0x736f6d6570736575L;
+        long v1 = hashKey1 ^ 0x646f72616e646f6dL;
+        long v2 = hashKey0 ^ 0x6c7967656e657261L;
+        long v3 = hashKey1 ^ 0x7465646279746573L;
+
+        final int length = key.length();
+        // the last word carries the leftover chars and the byte length
+        for (int i = 0; i <= length; i += 4) {
+            long m = 0;
+            final int end = Math.min(i + 4, length);
+            for (int j = i; j < end; j++) {
+                m |= (long) key.charAt(j) << ((j - i) * 16);
+            }
+            if (end - i < 4) {
+                m |= (long) (length * 2) << 56;
+            }
+            v3 ^= m;
+            for (int r = 0; r < 2; r++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+
+        v2 ^= 0xff;
+        for (int r = 0; r < 4; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+}
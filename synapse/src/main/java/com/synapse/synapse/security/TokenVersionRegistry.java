@@ -0,0 +1,77 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.user.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// In-memory view of USERS.TOKEN_VERSION for the users whose tokens were
+// revoked within the last access-token lifetime, so stateless principals can
+// be checked without a query per request. Older bumps are dropped: every
+// token issued before them has expired. Local bumps apply at once; other
+// nodes pick them up on the next refresh.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.jwt.access-token-expiration}")
+    private long accessTokenExpiration;
+
+    // userId -> lowest token version still accepted
+    private volatile Map<String, Revocation> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.jwt.token-version-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minus(accessTokenExpiration, ChronoUnit.MILLIS);
+            Map<String, Revocation> loaded = userRepository.findTokenVersionsChangedSince(since)
+                    .stream()
+                    .collect(Collectors.toConcurrentMap(
+                            UserRepository.TokenVersion::getId,
+                            version -> new Revocation(version.getTokenVersion(), version.getTokenVersionChangedAt())
+                    ));
+            // keep local bumps that raced with the load
+            versions.forEach((userId, revocation) -> {
+                if (revocation.changedAt().isAfter(since)) {
+                    loaded.merge(userId, revocation, Revocation::latest);
+                }
+            });
+            this.versions = loaded;
+        } catch (RuntimeException e) {
+            log.warn("Token version refresh failed, keeping {} known versions", versions.size(), e);
+        }
+    }
+
+    public void record(String userId, int tokenVersion) {
+        versions.merge(userId, new Revocation(tokenVersion, LocalDateTime.now()), Revocation::latest);
+    }
+
+    public boolean isCurrent(String userId, int tokenVersion) {
+        Revocation revocation = versions.get(userId);
+        return revocation == null || tokenVersion >= revocation.version();
+    }
+
+    private record Revocation(int version, LocalDateTime changedAt) {
+
+        Revocation latest(Revocation other) {
+            return other.version > version ? other : this;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.synapse.synapse.sync;
+
+import com.synapse.synapse.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/boards/{boardId}/changes")
+@RequiredArgsConstructor
+public class BoardChangeController {
+
+    private final BoardChangeService boardChangeService;
+
+    @GetMapping
+    public BoardChangesResponse getChanges(
+            @PathVariable String boardId,
+            @RequestParam long since,
+            Authentication authentication
+    ) {
+        User user = (User) authentication.getPrincipal();
+        return boardChangeService.getChanges(boardId, since, user);
+    }
+}
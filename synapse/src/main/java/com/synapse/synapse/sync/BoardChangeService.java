@@ -0,0 +1,74 @@
+package com.synapse.synapse.sync;
+
+import com.synapse.synapse.board.Board;
+import com.synapse.synapse.board.BoardRepository;
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.link.LinkMapper;
+import com.synapse.synapse.link.LinkRepository;
+import com.synapse.synapse.note.NoteMapper;
+import com.synapse.synapse.note.NoteRepository;
+import com.synapse.synapse.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BoardChangeService {
+
+    private final BoardRepository boardRepository;
+    private final NoteRepository noteRepository;
+    private final LinkRepository linkRepository;
+    private final BoardTombstoneRepository tombstoneRepository;
+    private final NoteMapper noteMapper;
+    private final LinkMapper linkMapper;
+
+    public BoardChangesResponse getChanges(String boardId, long since, User user) {
+        if (since < 0) {
+            throw new BusinessException(ErrorCode.INVALID_SYNC_CURSOR);
+        }
+
+        Board board = boardRepository.findByIdAndOwnerId(boardId, user.getId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.BOARD_NOT_FOUND));
+
+        // Read the cursor before the rows: anything committed in between is
+        // returned now and again next time, which is harmless, never skipped.
+        long cursor = board.getChangeVersion();
+
+        if (since > cursor) {
+            throw new BusinessException(ErrorCode.INVALID_SYNC_CURSOR);
+        }
+        // deletions after this cursor may have been pruned already
+        if (since < board.getTombstonesPrunedThrough()) {
+            throw new BusinessException(ErrorCode.SYNC_RESYNC_REQUIRED);
+        }
+
+        List<BoardTombstone> tombstones =
+                tombstoneRepository.findAllByBoardIdAndChangeVersionGreaterThan(boardId, since);
+
+        return BoardChangesResponse.builder()
+                .cursor(cursor)
+                .notes(noteRepository.findAllByBoardIdAndChangeVersionGreaterThan(boardId, since)
+                        .stream()
+                        .map(noteMapper::toNoteResponse)
+                        .toList())
+                .links(linkRepository.findAllByBoardIdAndChangeVersionGreaterThan(boardId, since)
+                        .stream()
+                        .map(linkMapper::toResponse)
+                        .toList())
+                .deletedNoteIds(deletedIds(tombstones, ChangeEntityType.NOTE))
+                .deletedLinkIds(deletedIds(tombstones, ChangeEntityType.LINK))
+                .build();
+    }
+
+    private List<String> deletedIds(List<BoardTombstone> tombstones, ChangeEntityType type) {
+        return tombstones.stream()
+                .filter(t -> t.getEntityType() == type)
+                .map(BoardTombstone::getEntityId)
+                .toList();
+    }
+}
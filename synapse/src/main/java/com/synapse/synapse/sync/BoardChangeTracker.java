@@ -0,0 +1,51 @@
+package com.synapse.synapse.sync;
+
+import com.synapse.synapse.board.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class BoardChangeTracker {
+
+    private final BoardRepository boardRepository;
+    private final BoardTombstoneRepository tombstoneRepository;
+
+    // Bumps the board cursor and returns the new value. The UPDATE keeps the
+    // board row locked until the caller commits, so writers on the same board
+    // are serialized and a reader never sees cursor N before change N commits.
+    public long nextVersion(String boardId) {
+        boardRepository.incrementChangeVersion(boardId);
+        return boardRepository.findChangeVersion(boardId);
+    }
+
+    public void recordDeletion(String boardId, ChangeEntityType type, String entityId, long version) {
+        tombstoneRepository.save(tombstone(boardId, type, entityId, version));
+    }
+
+    public void recordDeletions(String boardId, ChangeEntityType type, Collection<String> entityIds, long version) {
+        tombstoneRepository.saveAll(entityIds.stream()
+                .map(id -> tombstone(boardId, type, id, version))
+                .toList());
+    }
+
+    public void forgetBoard(String boardId) {
+        tombstoneRepository.deleteAllByBoardId(boardId);
+    }
+
+    private BoardTombstone tombstone(String boardId, ChangeEntityType type, String entityId, long version) {
+        return BoardTombstone.builder()
+                .boardId(boardId)
+                .entityType(type)
+                .entityId(entityId)
+                .changeVersion(version)
+                .deletedAt(LocalDateTime.now())
+                .build();
+    }
+}
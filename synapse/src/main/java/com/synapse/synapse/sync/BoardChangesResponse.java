@@ -0,0 +1,24 @@
+package com.synapse.synapse.sync;
+
+import com.synapse.synapse.link.LinkResponse;
+import com.synapse.synapse.note.NoteResponseDto;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardChangesResponse {
+
+    // pass back as ?since= on the next call
+    private long cursor;
+
+    private List<NoteResponseDto> notes;
+    private List<LinkResponse> links;
+
+    private List<String> deletedNoteIds;
+    private List<String> deletedLinkIds;
+}
@@ -0,0 +1,38 @@
+package com.synapse.synapse.sync;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Marker left behind when a note or link is hard-deleted, so that
+// delta sync clients can learn about the deletion.
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "BOARD_TOMBSTONES")
+public class BoardTombstone {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "BOARD_ID", nullable = false, columnDefinition = "uuid")
+    private String boardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ENTITY_TYPE", nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(name = "ENTITY_ID", nullable = false, columnDefinition = "uuid")
+    private String entityId;
+
+    @Column(name = "CHANGE_VERSION", nullable = false)
+    private long changeVersion;
+
+    @Column(name = "DELETED_AT", nullable = false)
+    private LocalDateTime deletedAt;
+}
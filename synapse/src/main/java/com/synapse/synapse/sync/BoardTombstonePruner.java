@@ -0,0 +1,35 @@
+package com.synapse.synapse.sync;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Deletes tombstones past the retention window. Each board first records the
+// newest change version it loses, so BoardChangeService can tell a client
+// whose cursor predates it to reload the snapshot instead of silently
+// missing deletions.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BoardTombstonePruner {
+
+    private final BoardTombstoneRepository tombstoneRepository;
+
+    @Value("${app.sync.tombstones.retention:30d}")
+    private Duration retention = Duration.ofDays(30);
+
+    @Scheduled(cron = "${app.sync.tombstones.prune-cron:0 0 4 * * *}")
+    @Transactional
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        tombstoneRepository.advancePrunedHorizon(cutoff);
+        int deleted = tombstoneRepository.deleteOlderThan(cutoff);
+        log.info("Pruned {} board tombstones older than {}", deleted, cutoff);
+    }
+}
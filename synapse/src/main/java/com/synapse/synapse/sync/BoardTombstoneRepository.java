@@ -0,0 +1,31 @@
+package com.synapse.synapse.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BoardTombstoneRepository extends JpaRepository<BoardTombstone, Long> {
+
+    List<BoardTombstone> findAllByBoardIdAndChangeVersionGreaterThan(String boardId, long since);
+
+    @Modifying
+    @Query("DELETE FROM BoardTombstone t WHERE t.boardId = :boardId")
+    void deleteAllByBoardId(@Param("boardId") String boardId);
+
+    // Moves each board's horizon up to the newest tombstone about to be pruned
+    @Modifying
+    @Query(value = "UPDATE boards b SET tombstones_pruned_through = p.change_version "
+            + "FROM (SELECT board_id, max(change_version) AS change_version FROM board_tombstones "
+            + "WHERE deleted_at < :cutoff GROUP BY board_id) p "
+            + "WHERE b.id = p.board_id AND b.tombstones_pruned_through < p.change_version",
+            nativeQuery = true)
+    int advancePrunedHorizon(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM BoardTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,6 @@
+package com.synapse.synapse.sync;
+
+public enum ChangeEntityType {
+    NOTE,
+    LINK
+}
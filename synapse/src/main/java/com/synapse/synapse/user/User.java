@@ -4,6 +4,7 @@ package com.synapse.synapse.user;
 import com.synapse.synapse.role.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,8 +15,6 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
-import static jakarta.persistence.GenerationType.UUID;
-
 @Entity
 @Getter
 @Setter
@@ -27,7 +26,8 @@ import static jakarta.persistence.GenerationType.UUID;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @Column(name = "ID", columnDefinition = "uuid")
     private String id;
     @Column(name = "FIRST_NAME", nullable = false)
     private String firstName;
@@ -45,6 +45,13 @@ public class User implements UserDetails {
     private boolean credentialsExpired;
     @Column(name = "IS_EMAIL_VERIFIED")
     private boolean emailVerified;
+    // bumped to revoke every token issued before (password change, deactivation)
+    @Column(name = "TOKEN_VERSION", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int tokenVersion;
+    // when tokenVersion was last bumped; the bump only matters to nodes while
+    // a token issued before it can still be unexpired
+    @Column(name = "TOKEN_VERSION_CHANGED_AT")
+    private LocalDateTime tokenVersionChangedAt;
 
     @CreatedDate
     @Column(name = "CREATED_DATE", updatable = false, nullable = false)
@@ -89,10 +96,10 @@ public class User implements UserDetails {
     @JoinTable(
             name = "USERS_ROLES",
             joinColumns = {
-                    @JoinColumn(name = "users_id")
+                    @JoinColumn(name = "users_id", columnDefinition = "uuid")
             },
             inverseJoinColumns = {
-                    @JoinColumn(name = "roles_id")
+                    @JoinColumn(name = "roles_id", columnDefinition = "uuid")
             }
     )
     private List<Role> roles;
@@ -1,7 +1,11 @@
 package com.synapse.synapse.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
@@ -10,4 +14,17 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByEmailIgnoreCase(String email);
 
+    // revocations recent enough that a token issued before them may be unexpired
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.tokenVersionChangedAt AS tokenVersionChangedAt "
+            + "FROM User u WHERE u.tokenVersionChangedAt > :since")
+    List<TokenVersion> findTokenVersionsChangedSince(@Param("since") LocalDateTime since);
+
+    interface TokenVersion {
+        String getId();
+
+        int getTokenVersion();
+
+        LocalDateTime getTokenVersionChangedAt();
+    }
+
 }
@@ -1,17 +1,22 @@
 package com.synapse.synapse.user;
 
 
+import com.synapse.synapse.auth.RefreshTokenService;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.security.TokenVersionRegistry;
 import com.synapse.synapse.user.request.ChangePasswordRequest;
 import com.synapse.synapse.user.request.ProfileUpdateRequest;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 import static com.synapse.synapse.exception.ErrorCode.*;
 
 @Service
@@ -21,6 +26,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final RefreshTokenService refreshTokens;
 
 
 
@@ -45,6 +53,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new BusinessException(USER_NOT_FOUND , userId));
         this.userMapper.mergeUserInfo(savedUser, request);
         this.userRepository.save(savedUser);
+        this.userCache.removeUserFromCache(savedUser.getUsername());
 
     }
 
@@ -65,7 +74,10 @@ public class UserServiceImpl implements UserService {
 
             final String encoded = this.passwordEncoder.encode(req.getNewPassword());
             savedUser.setPassword(encoded);
+            revokeTokens(savedUser);
             this.userRepository.save(savedUser);
+            this.tokenVersions.record(savedUser.getId(), savedUser.getTokenVersion());
+            this.userCache.removeUserFromCache(savedUser.getUsername());
         }
 
 
@@ -81,7 +93,10 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setEnabled(false);
+        revokeTokens(user);
         this.userRepository.save(user);
+        this.tokenVersions.record(user.getId(), user.getTokenVersion());
+        this.userCache.removeUserFromCache(user.getUsername());
 
     }
 
@@ -96,6 +111,7 @@ public class UserServiceImpl implements UserService {
 
         user.setEnabled(true);
         this.userRepository.save(user);
+        this.userCache.removeUserFromCache(user.getUsername());
 
     }
 
@@ -104,5 +120,11 @@ public class UserServiceImpl implements UserService {
 
     }
 
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        user.setTokenVersionChangedAt(LocalDateTime.now());
+        this.refreshTokens.revokeAll(user.getId());
+    }
+
 
 }
@@ -0,0 +1,81 @@
+-- Entity ids move from VARCHAR(255) to the native 16-byte uuid type. Rows
+-- keep their existing (random, v4) values; the application generates
+-- time-ordered v7 ids from now on, so new rows append to the right edge of
+-- the primary key and foreign key indexes.
+--
+-- Runs in one transaction and rewrites the affected tables under an
+-- exclusive lock: schedule it in a maintenance window on large databases.
+
+-- Foreign keys must go before their columns change type. Databases baselined
+-- from ddl-auto carry Hibernate-generated constraint names, so they are
+-- looked up rather than dropped by name.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f'
+          AND conrelid IN ('users_roles'::regclass, 'token'::regclass, 'boards'::regclass,
+                           'notes'::regclass, 'links'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END
+$$;
+
+ALTER TABLE users
+    ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE roles
+    ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE users_roles
+    ALTER COLUMN users_id TYPE uuid USING users_id::uuid,
+    ALTER COLUMN roles_id TYPE uuid USING roles_id::uuid;
+
+ALTER TABLE token
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+
+ALTER TABLE boards
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN owner_id TYPE uuid USING owner_id::uuid;
+
+ALTER TABLE notes
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN board_id TYPE uuid USING board_id::uuid,
+    ALTER COLUMN author_id TYPE uuid USING author_id::uuid;
+
+ALTER TABLE links
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN board_id TYPE uuid USING board_id::uuid,
+    ALTER COLUMN from_note_id TYPE uuid USING from_note_id::uuid,
+    ALTER COLUMN to_note_id TYPE uuid USING to_note_id::uuid;
+
+ALTER TABLE board_tombstones
+    ALTER COLUMN board_id TYPE uuid USING board_id::uuid,
+    ALTER COLUMN entity_id TYPE uuid USING entity_id::uuid;
+
+ALTER TABLE refresh_token_families
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN user_id TYPE uuid USING user_id::uuid;
+
+ALTER TABLE users_roles
+    ADD CONSTRAINT fk_users_roles_user FOREIGN KEY (users_id) REFERENCES users (id),
+    ADD CONSTRAINT fk_users_roles_role FOREIGN KEY (roles_id) REFERENCES roles (id);
+
+ALTER TABLE token
+    ADD CONSTRAINT fk_token_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+ALTER TABLE boards
+    ADD CONSTRAINT fk_boards_owner FOREIGN KEY (owner_id) REFERENCES users (id);
+
+ALTER TABLE notes
+    ADD CONSTRAINT fk_notes_board FOREIGN KEY (board_id) REFERENCES boards (id),
+    ADD CONSTRAINT fk_notes_author FOREIGN KEY (author_id) REFERENCES users (id);
+
+ALTER TABLE links
+    ADD CONSTRAINT fk_links_board FOREIGN KEY (board_id) REFERENCES boards (id),
+    ADD CONSTRAINT fk_links_from_note FOREIGN KEY (from_note_id) REFERENCES notes (id),
+    ADD CONSTRAINT fk_links_to_note FOREIGN KEY (to_note_id) REFERENCES notes (id);
@@ -0,0 +1,18 @@
+-- UUIDv7 for rows created by set-based statements (board duplication), laid
+-- out like the application's ids: 48-bit unix millis, version 7, random bits.
+-- Postgres 18 ships uuidv7(); this covers 17.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+-- Per-note image keys (notes/{noteId}/...) start being counted here once a
+-- duplicated board shares them; their content hash is not known.
+ALTER TABLE image_blobs ALTER COLUMN content_hash DROP NOT NULL;
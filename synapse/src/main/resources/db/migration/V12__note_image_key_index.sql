@@ -0,0 +1,5 @@
+-- Keyset pages of BoardJdbcRepository.findImageKeysAfter: each page is a
+-- range scan in image_url order within the board, so a board export never
+-- re-sorts the keys it has already written.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notes_board_image ON notes (board_id, image_url)
+    WHERE image_url IS NOT NULL;
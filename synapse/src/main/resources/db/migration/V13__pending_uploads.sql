@@ -0,0 +1,11 @@
+-- Keys handed out for direct uploads and not confirmed yet. Confirming a key
+-- removes its row; PendingUploadSweeper deletes the objects of rows that
+-- outlive app.notes.pending-uploads.max-age.
+CREATE TABLE pending_uploads (
+    storage_key  VARCHAR(255) NOT NULL,
+    note_id      uuid         NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_pending_uploads PRIMARY KEY (storage_key)
+);
+
+CREATE INDEX idx_pending_uploads_created ON pending_uploads (created_date);
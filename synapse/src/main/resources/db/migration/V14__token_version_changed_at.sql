@@ -0,0 +1,11 @@
+-- TokenVersionRegistry only reloads bumps younger than the access-token
+-- lifetime; older ones no longer matter since every token issued before them
+-- has expired. Users revoked before this column existed count as revoked now,
+-- so their bumps stay visible for one more lifetime.
+ALTER TABLE users ADD COLUMN token_version_changed_at TIMESTAMP(6);
+
+UPDATE users SET token_version_changed_at = now() WHERE token_version > 0;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_token_version_changed
+    ON users (token_version_changed_at)
+    WHERE token_version_changed_at IS NOT NULL;
@@ -0,0 +1,6 @@
+-- BoardTombstonePruner deletes tombstones past app.sync.tombstones.retention
+-- and records per board the newest change version it pruned; delta sync
+-- requests with an older cursor must reload the snapshot.
+ALTER TABLE boards ADD COLUMN tombstones_pruned_through BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_tombstones_deleted_at ON board_tombstones (deleted_at);
@@ -0,0 +1,101 @@
+-- Schema as ddl-auto: update produced it before the schema moved to Flyway.
+-- Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and start from V2, so this file must
+-- not gain anything those databases lack: later changes go in new versions.
+-- Constraint names differ from Hibernate's generated ones; later migrations
+-- look constraints up instead of relying on these names.
+
+CREATE TABLE users (
+    id                    VARCHAR(255) NOT NULL,
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    email                 VARCHAR(255) NOT NULL,
+    password              VARCHAR(255) NOT NULL,
+    is_enabled            BOOLEAN      NOT NULL,
+    is_account_locked     BOOLEAN      NOT NULL,
+    is_credential_expired BOOLEAN      NOT NULL,
+    is_email_verified     BOOLEAN      NOT NULL,
+    created_date          TIMESTAMP(6) NOT NULL,
+    last_modified_date    TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE roles (
+    id                 VARCHAR(255) NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    CONSTRAINT pk_roles PRIMARY KEY (id)
+);
+
+CREATE TABLE users_roles (
+    users_id VARCHAR(255) NOT NULL,
+    roles_id VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_users_roles_user FOREIGN KEY (users_id) REFERENCES users (id),
+    CONSTRAINT fk_users_roles_role FOREIGN KEY (roles_id) REFERENCES roles (id)
+);
+
+CREATE SEQUENCE token_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE token (
+    id           INTEGER      NOT NULL,
+    token        VARCHAR(255) NOT NULL,
+    created_at   TIMESTAMP(6),
+    expires_at   TIMESTAMP(6),
+    validated_at TIMESTAMP(6),
+    user_id      VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_token PRIMARY KEY (id),
+    CONSTRAINT fk_token_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE boards (
+    id                 VARCHAR(255) NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    description        VARCHAR(255),
+    owner_id           VARCHAR(255) NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    CONSTRAINT pk_boards PRIMARY KEY (id),
+    CONSTRAINT fk_boards_owner FOREIGN KEY (owner_id) REFERENCES users (id)
+);
+
+CREATE TABLE notes (
+    id                 VARCHAR(255) NOT NULL,
+    content            TEXT,
+    image_url          VARCHAR(255),
+    color              VARCHAR(255),
+    position_x         FLOAT(53),
+    position_y         FLOAT(53),
+    note_type          VARCHAR(255) NOT NULL CHECK (note_type IN ('STICKY', 'PHOTO', 'DOCUMENT', 'CLIPPING', 'LABEL', 'INDEX_CARD', 'EVIDENCE_TAG')),
+    width              FLOAT(53),
+    height             FLOAT(53),
+    board_id           VARCHAR(255) NOT NULL,
+    author_id          VARCHAR(255) NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    CONSTRAINT pk_notes PRIMARY KEY (id),
+    CONSTRAINT fk_notes_board FOREIGN KEY (board_id) REFERENCES boards (id),
+    CONSTRAINT fk_notes_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE links (
+    id                 VARCHAR(255) NOT NULL,
+    board_id           VARCHAR(255) NOT NULL,
+    from_note_id       VARCHAR(255) NOT NULL,
+    to_note_id         VARCHAR(255) NOT NULL,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    CONSTRAINT pk_links PRIMARY KEY (id),
+    CONSTRAINT fk_links_board FOREIGN KEY (board_id) REFERENCES boards (id),
+    CONSTRAINT fk_links_from_note FOREIGN KEY (from_note_id) REFERENCES notes (id),
+    CONSTRAINT fk_links_to_note FOREIGN KEY (to_note_id) REFERENCES notes (id)
+);
@@ -0,0 +1,20 @@
+-- Delta sync: every board, note and link carries the board-wide change
+-- version of its last write, and deletions leave a tombstone at the version
+-- that removed them. IF NOT EXISTS covers databases whose ddl-auto already
+-- added these before the schema moved to Flyway.
+ALTER TABLE boards ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE links ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE SEQUENCE IF NOT EXISTS board_tombstone_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS board_tombstones (
+    id             BIGINT       NOT NULL,
+    board_id       VARCHAR(255) NOT NULL,
+    entity_type    VARCHAR(255) NOT NULL,
+    entity_id      VARCHAR(255) NOT NULL,
+    change_version BIGINT       NOT NULL,
+    deleted_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_board_tombstones PRIMARY KEY (id),
+    CONSTRAINT ck_board_tombstones_entity_type CHECK (entity_type IN ('NOTE', 'LINK'))
+);
@@ -0,0 +1,2 @@
+-- Set once the THUMB/MEDIUM copies of a note's image exist in storage.
+ALTER TABLE notes ADD COLUMN IF NOT EXISTS image_variants BOOLEAN NOT NULL DEFAULT FALSE;
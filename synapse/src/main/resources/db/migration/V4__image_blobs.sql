@@ -0,0 +1,11 @@
+-- Content-addressed, ref-counted image objects (blobs/{sha256}) shared by
+-- every note whose upload had the same content.
+CREATE TABLE IF NOT EXISTS image_blobs (
+    storage_key  VARCHAR(255) NOT NULL,
+    content_hash VARCHAR(64)  NOT NULL,
+    content_type VARCHAR(255),
+    size_bytes   BIGINT       NOT NULL,
+    ref_count    INTEGER      NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_image_blobs PRIMARY KEY (storage_key)
+);
@@ -0,0 +1,3 @@
+-- Bumped on password change and deactivation; access tokens carrying an
+-- older version are refused.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
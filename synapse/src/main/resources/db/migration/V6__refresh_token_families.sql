@@ -0,0 +1,11 @@
+-- One row per refresh token rotation chain; reusing a rotated-out token
+-- revokes the whole family.
+CREATE TABLE IF NOT EXISTS refresh_token_families (
+    id           VARCHAR(255) NOT NULL,
+    user_id      VARCHAR(255) NOT NULL,
+    generation   INTEGER      NOT NULL,
+    revoked      BOOLEAN      NOT NULL,
+    expires_at   TIMESTAMP(6) NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_refresh_token_families PRIMARY KEY (id)
+);
@@ -0,0 +1,31 @@
+-- Indexes behind the per-request lookups. CONCURRENTLY keeps existing,
+-- populated tables writable while they build; Flyway runs these statements
+-- outside a transaction.
+
+-- findAllByBoardId, findByIdAndBoardId and the delta sync
+-- (findAllByBoardIdAndChangeVersionGreaterThan) for notes and links
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notes_board_change ON notes (board_id, change_version);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_links_board_change ON links (board_id, change_version);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notes_author ON notes (author_id);
+
+-- deleteByFromNoteOrToNote / findIdsByNote, and the FK checks when a note is deleted
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_links_from_note ON links (from_note_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_links_to_note ON links (to_note_id);
+
+-- findAllByOwnerId, findByIdAndOwnerId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_boards_owner ON boards (owner_id);
+
+-- findByEmailIgnoreCase; Spring Data compares upper(email) = upper(?)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_upper ON users (upper(email));
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_roles_user ON users_roles (users_id);
+
+-- activation codes: findByToken, findByUserAndValidatedAtIsNull
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_token_token ON token (token);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_token_user ON token (user_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_tombstones_board_change ON board_tombstones (board_id, change_version);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_families_user ON refresh_token_families (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_families_expires ON refresh_token_families (expires_at);
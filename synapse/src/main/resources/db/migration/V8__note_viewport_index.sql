@@ -0,0 +1,8 @@
+-- GiST index for findAllByBoardIdInViewport. The expression must match
+-- NoteRepository.BOUNDING_BOX exactly for the planner to use it.
+-- btree_gist lets board_id lead the GiST index, so lookups stay per board.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notes_board_bbox ON notes USING gist (board_id, box(
+    point(coalesce(position_x, 0), coalesce(position_y, 0)),
+    point(coalesce(position_x, 0) + coalesce(width, 0), coalesce(position_y, 0) + coalesce(height, 0))));
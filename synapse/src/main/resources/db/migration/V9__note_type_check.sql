@@ -0,0 +1,10 @@
+-- Databases baselined from ddl-auto keep the note_type check Hibernate wrote
+-- when the table was first created, which may predate INDEX_CARD and
+-- EVIDENCE_TAG; ddl-auto never widened it. Recreate it with every NoteType
+-- under a fixed name. On databases built by V1 this is a no-op rewrite.
+ALTER TABLE notes DROP CONSTRAINT IF EXISTS ck_notes_note_type;
+ALTER TABLE notes DROP CONSTRAINT IF EXISTS notes_note_type_check;
+
+ALTER TABLE notes
+    ADD CONSTRAINT ck_notes_note_type
+        CHECK (note_type IN ('STICKY', 'PHOTO', 'DOCUMENT', 'CLIPPING', 'LABEL', 'INDEX_CARD', 'EVIDENCE_TAG'));
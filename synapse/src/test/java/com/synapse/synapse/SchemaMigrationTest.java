@@ -0,0 +1,183 @@
+package com.synapse.synapse;
+
+import com.synapse.synapse.note.NoteRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Applies the Flyway migrations to a throwaway Postgres (same major version
+// as production) and checks that the hot lookups are planned on an index.
+// Sequential scans are disabled so the planner picks an index whenever one
+// applies, even on empty tables. Skipped when Docker is not available.
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Schema migration query plans")
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17.5");
+
+    // ids are uuid columns since V10
+    private static final String ID = "'0192a5d8-3c4e-7b10-8f2a-5c6d7e8f9a0b'";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .mixed(true)
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            // findAllByBoardId, findAllByBoardIdAndChangeVersionGreaterThan
+            "SELECT * FROM notes WHERE board_id = " + ID,
+            "SELECT * FROM notes WHERE board_id = " + ID + " AND change_version > 10",
+            "SELECT * FROM links WHERE board_id = " + ID,
+            "SELECT * FROM links WHERE board_id = " + ID + " AND change_version > 10",
+            "SELECT * FROM board_tombstones WHERE board_id = " + ID + " AND change_version > 10",
+            // findByIdAndBoardIdAndAuthorId and FK checks on user deletion
+            "SELECT * FROM notes WHERE author_id = " + ID,
+            // deleteByFromNoteOrToNote
+            "DELETE FROM links WHERE from_note_id = " + ID + " OR to_note_id = " + ID,
+            // findAllByOwnerId
+            "SELECT * FROM boards WHERE owner_id = " + ID,
+            // findByToken
+            "SELECT * FROM token WHERE token = '123456'",
+            "SELECT * FROM refresh_token_families WHERE user_id = " + ID + " AND revoked = false"
+    })
+    @DisplayName("Should not scan the whole table")
+    void shouldUseIndex(String query) {
+        assertFalse(plan(query).contains("Seq Scan"), () -> plan(query));
+    }
+
+    @Test
+    @DisplayName("Should find users by email ignoring case on the expression index")
+    void shouldUseEmailExpressionIndex() {
+        assertTrue(plan("SELECT * FROM users WHERE upper(email) = upper('John@Test.com')")
+                .contains("idx_users_email_upper"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "users.id", "roles.id", "users_roles.users_id", "users_roles.roles_id", "token.user_id",
+            "boards.id", "boards.owner_id", "notes.id", "notes.board_id", "notes.author_id",
+            "links.id", "links.board_id", "links.from_note_id", "links.to_note_id",
+            "board_tombstones.board_id", "board_tombstones.entity_id",
+            "refresh_token_families.id", "refresh_token_families.user_id"
+    })
+    @DisplayName("Should store ids in the native uuid type")
+    void shouldStoreIdsAsUuid(String column) throws SQLException {
+        String[] parts = column.split("\\.");
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = ? AND column_name = ?")) {
+            statement.setString(1, parts[0]);
+            statement.setString(2, parts[1]);
+            try (ResultSet rows = statement.executeQuery()) {
+                assertTrue(rows.next(), column);
+                assertEquals("uuid", rows.getString(1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate version 7 ids in the database for board duplication")
+    void shouldGenerateUuidV7() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT uuid_generate_v7()")) {
+            assertTrue(rows.next());
+            assertEquals(7, rows.getObject(1, UUID.class).version());
+        }
+    }
+
+    @Test
+    @DisplayName("Should plan viewport queries without a table scan")
+    void shouldUseIndexForViewport() {
+        // built from the repository constant, so V8 and the query cannot drift apart unnoticed
+        String plan = plan("SELECT * FROM notes WHERE board_id = " + ID + " AND " + NoteRepository.BOUNDING_BOX
+                + " && box(point(0, 0), point(100, 100))");
+
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    @DisplayName("Should migrate a database built by ddl-auto from the V1 baseline")
+    void shouldMigrateBaselinedDatabase() throws SQLException, IOException {
+        // Given: the schema ddl-auto left behind, without Flyway history
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE baselined");
+        }
+        String url = postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/baselined");
+        try (Connection baselined = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+             Statement statement = baselined.createStatement();
+             InputStream v1 = SchemaMigrationTest.class.getResourceAsStream("/db/migration/V1__baseline.sql")) {
+            statement.execute(new String(v1.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // When
+        Flyway.configure()
+                .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .mixed(true)
+                .load()
+                .migrate();
+
+        // Then: every later version applied on top of it
+        try (Connection baselined = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+             Statement statement = baselined.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT count(*) FROM information_schema.columns WHERE (table_name, column_name) IN "
+                             + "(('notes', 'change_version'), ('notes', 'image_variants'), ('users', 'token_version'),"
+                             + " ('board_tombstones', 'entity_id'), ('image_blobs', 'ref_count'),"
+                             + " ('refresh_token_families', 'user_id'))")) {
+            assertTrue(rows.next());
+            assertEquals(6, rows.getInt(1));
+        }
+    }
+
+    private static String plan(String query) {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.synapse.synapse.auth;
+
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.security.JwtClaims;
+import com.synapse.synapse.security.JwtService;
+import com.synapse.synapse.security.RevokedFamilyFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository familyRepository;
+
+    @Mock
+    private RevokedFamilyFilter revokedFamilies;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    @DisplayName("Should advance the family to the next generation")
+    void shouldRotateCurrentToken() {
+        // Given
+        when(familyRepository.advance(eq("family-1"), eq(2), any())).thenReturn(1);
+
+        // When
+        int next = refreshTokenService.rotate(claims("family-1", 2));
+
+        // Then
+        assertEquals(3, next);
+        verify(familyRepository, never()).revoke(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the family when an already rotated token comes back")
+    void shouldRevokeFamilyOnReuse() {
+        // Given
+        when(familyRepository.advance(eq("family-1"), eq(1), any())).thenReturn(0);
+
+        // When
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> refreshTokenService.rotate(claims("family-1", 1)));
+
+        // Then
+        assertEquals(ErrorCode.INVALID_REFRESH_TOKEN, ex.getErrorCode());
+        verify(familyRepository).revoke("family-1");
+        verify(revokedFamilies).record("family-1");
+    }
+
+    @Test
+    @DisplayName("Should refuse a revoked family without touching the database")
+    void shouldRejectRevokedFamily() {
+        // Given
+        when(revokedFamilies.isRevoked("family-1")).thenReturn(true);
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate(claims("family-1", 0)));
+        verify(familyRepository, never()).advance(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse refresh tokens issued before rotation")
+    void shouldRejectTokenWithoutFamily() {
+        // When & Then
+        assertThrows(BusinessException.class, () -> refreshTokenService.rotate(claims(null, 0)));
+        verifyNoInteractions(familyRepository);
+    }
+
+    private static JwtClaims claims(String familyId, int generation) {
+        return new JwtClaims(
+                "user@test.com",
+                Instant.now().plusSeconds(60),
+                JwtService.REFRESH_TOKEN,
+                "user-123",
+                true,
+                false,
+                0,
+                familyId,
+                generation
+        );
+    }
+}
@@ -0,0 +1,165 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.link.LinkResponse;
+import com.synapse.synapse.note.NoteResponseDto;
+import com.synapse.synapse.note.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardExportService Unit Tests")
+class BoardExportServiceTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private BoardJdbcRepository boardJdbcRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private BoardExportService boardExportService;
+
+    @BeforeEach
+    void setUp() {
+        BoardDocumentWriter documentWriter = new BoardDocumentWriter(
+                objectMapper, boardRepository, new BoardMapper(), boardJdbcRepository);
+        ReflectionTestUtils.setField(documentWriter, "fetchSize", 100);
+        boardExportService = new BoardExportService(documentWriter, boardJdbcRepository, s3Service);
+        ReflectionTestUtils.setField(boardExportService, "imagePageSize", 2);
+
+        when(boardRepository.findById("board-1"))
+                .thenReturn(Optional.of(Board.builder().id("board-1").name("Case file").build()));
+        doAnswer(invocation -> {
+            Consumer<NoteResponseDto> consumer = invocation.getArgument(2);
+            consumer.accept(NoteResponseDto.builder().id("note-1").imageUrl("blobs/abc").build());
+            consumer.accept(NoteResponseDto.builder().id("note-2").build());
+            return null;
+        }).when(boardJdbcRepository).streamNotes(eq("board-1"), eq(100), any());
+        doAnswer(invocation -> {
+            Consumer<LinkResponse> consumer = invocation.getArgument(2);
+            consumer.accept(LinkResponse.builder().id("link-1").fromNoteId("note-1").toNoteId("note-2").build());
+            return null;
+        }).when(boardJdbcRepository).streamLinks(eq("board-1"), eq(100), any());
+    }
+
+    @Test
+    @DisplayName("Should write the board as one JSON document in the import layout")
+    void shouldExportJsonDocument() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        boardExportService.export("board-1", BoardExportFormat.JSON, false, out);
+
+        // Then
+        JsonNode document = objectMapper.readTree(out.toByteArray());
+        assertEquals("Case file", document.get("board").get("name").asString());
+        assertEquals(2, document.get("notes").size());
+        assertEquals("blobs/abc", document.get("notes").get(0).get("imageUrl").asString());
+        assertEquals("note-2", document.get("links").get(0).get("toNoteId").asString());
+    }
+
+    @Test
+    @DisplayName("Should write one object per line with notes before links")
+    void shouldExportNdjson() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        boardExportService.export("board-1", BoardExportFormat.NDJSON, false, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).has("board"));
+        assertEquals("note-1", objectMapper.readTree(lines[1]).get("note").get("id").asString());
+        assertEquals("note-2", objectMapper.readTree(lines[2]).get("note").get("id").asString());
+        assertEquals("link-1", objectMapper.readTree(lines[3]).get("link").get("id").asString());
+    }
+
+    @Test
+    @DisplayName("Should zip the document followed by every image, paging the keys")
+    void shouldExportZipWithImages() throws IOException {
+        // Given
+        when(boardJdbcRepository.findImageKeysAfter("board-1", "", 2))
+                .thenReturn(List.of("blobs/abc", "blobs/def"));
+        when(boardJdbcRepository.findImageKeysAfter("board-1", "blobs/def", 2))
+                .thenReturn(List.of("blobs/ghi"));
+        when(s3Service.openObject(any())).thenAnswer(invocation -> image(new byte[]{1, 2, 3}));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        boardExportService.export("board-1", BoardExportFormat.JSON, true, out);
+
+        // Then
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry document = zip.getNextEntry();
+            assertEquals("board.json", document.getName());
+            assertEquals("Case file", objectMapper.readTree(zip.readAllBytes()).get("board").get("name").asString());
+
+            for (String key : List.of("blobs/abc", "blobs/def", "blobs/ghi")) {
+                ZipEntry image = zip.getNextEntry();
+                assertEquals("images/" + key, image.getName());
+                assertArrayEquals(new byte[]{1, 2, 3}, zip.readAllBytes());
+            }
+            assertNull(zip.getNextEntry());
+        }
+        verify(boardJdbcRepository, times(2)).findImageKeysAfter(eq("board-1"), any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("Should leave out images that are gone from storage")
+    void shouldSkipMissingImages() throws IOException {
+        // Given
+        when(boardJdbcRepository.findImageKeysAfter("board-1", "", 2))
+                .thenReturn(List.of("blobs/abc"));
+        when(s3Service.openObject("blobs/abc")).thenThrow(NoSuchKeyException.builder().build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        boardExportService.export("board-1", BoardExportFormat.JSON, true, out);
+
+        // Then
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("board.json", zip.getNextEntry().getName());
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    private static ResponseInputStream<GetObjectResponse> image(byte[] content) {
+        return new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content)));
+    }
+}
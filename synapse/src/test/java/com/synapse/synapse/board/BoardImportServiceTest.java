@@ -0,0 +1,161 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.board.BoardJdbcRepository.LinkRow;
+import com.synapse.synapse.board.BoardJdbcRepository.NoteRow;
+import com.synapse.synapse.board.request.BoardImportResponse;
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardImportService Unit Tests")
+class BoardImportServiceTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private BoardJdbcRepository boardJdbcRepository;
+
+    private BoardImportService boardImportService;
+
+    private final User user = User.builder().id("user-123").build();
+
+    @BeforeEach
+    void setUp() {
+        boardImportService = new BoardImportService(
+                JsonMapper.builder().build(), boardRepository, new BoardMapper(), boardJdbcRepository);
+        ReflectionTestUtils.setField(boardImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(boardImportService, "maxNotes", 10);
+    }
+
+    private void givenSavedBoard() {
+        when(boardRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            Board board = invocation.getArgument(0);
+            board.setId("board-1");
+            return board;
+        });
+    }
+
+    @Test
+    @DisplayName("Should insert notes in batches and resolve links to the generated note ids")
+    @SuppressWarnings("unchecked")
+    void shouldImportInBatches() {
+        // Given
+        givenSavedBoard();
+        String document = """
+                {"board": {"name": "Case file"},
+                 "notes": [{"id": "a", "content": "first"}, {"id": "b"}, {"id": "c", "noteType": "label"}],
+                 "links": [{"fromNoteId": "a", "toNoteId": "b"}, {"fromNoteId": "b", "toNoteId": "c"}],
+                 "extra": {"ignored": [1, 2]}}
+                """;
+
+        // When
+        BoardImportResponse response = importing(document);
+
+        // Then
+        ArgumentCaptor<List<NoteRow>> notes = ArgumentCaptor.forClass(List.class);
+        verify(boardJdbcRepository, times(2)).insertNotes(eq("board-1"), eq("user-123"), notes.capture());
+        List<NoteRow> imported = notes.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of(2, 1), notes.getAllValues().stream().map(List::size).toList());
+        assertEquals("first", imported.get(0).note().getContent());
+
+        ArgumentCaptor<List<LinkRow>> links = ArgumentCaptor.forClass(List.class);
+        verify(boardJdbcRepository).insertLinks(eq("board-1"), eq("user-123"), links.capture());
+        LinkRow link = links.getValue().get(1);
+        assertEquals(imported.get(1).id(), link.fromNoteId());
+        assertEquals(imported.get(2).id(), link.toNoteId());
+
+        assertEquals("Case file", response.getBoard().getName());
+        assertEquals(3, response.getNotes());
+        assertEquals(2, response.getLinks());
+    }
+
+    @Test
+    @DisplayName("Should reject links to notes that are not in the document")
+    void shouldRejectUnknownNoteReference() {
+        // Given
+        givenSavedBoard();
+        String document = """
+                {"board": {"name": "Case file"}, "notes": [{"id": "a"}], "links": [{"fromNoteId": "a", "toNoteId": "z"}]}
+                """;
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () -> importing(document));
+
+        // Then
+        assertEquals(ErrorCode.INVALID_IMPORT, exception.getErrorCode());
+        verify(boardJdbcRepository, never()).insertLinks(any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject notes listed before the board")
+    void shouldRejectNotesBeforeBoard() {
+        // Given
+        String document = """
+                {"notes": [{"id": "a"}], "board": {"name": "Case file"}}
+                """;
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () -> importing(document));
+
+        // Then
+        assertEquals(ErrorCode.INVALID_IMPORT, exception.getErrorCode());
+        verifyNoInteractions(boardRepository, boardJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop at max-notes instead of growing the id map")
+    void shouldRejectTooManyNotes() {
+        // Given
+        givenSavedBoard();
+        ReflectionTestUtils.setField(boardImportService, "maxNotes", 1);
+        String document = """
+                {"board": {"name": "Case file"}, "notes": [{"id": "a"}, {"id": "b"}]}
+                """;
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () -> importing(document));
+
+        // Then
+        assertEquals(ErrorCode.IMPORT_TOO_LARGE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Should report truncated JSON as an invalid import")
+    void shouldRejectMalformedJson() {
+        // Given
+        givenSavedBoard();
+        String document = "{\"board\": {\"name\": \"Case file\"}, \"notes\": [{\"id\": \"a\"";
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () -> importing(document));
+
+        // Then
+        assertEquals(ErrorCode.INVALID_IMPORT, exception.getErrorCode());
+    }
+
+    private BoardImportResponse importing(String document) {
+        return boardImportService.importBoard(
+                new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), user);
+    }
+}
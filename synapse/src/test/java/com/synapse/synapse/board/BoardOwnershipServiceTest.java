@@ -0,0 +1,151 @@
+package com.synapse.synapse.board;
+
+import com.synapse.synapse.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardOwnershipService Unit Tests")
+class BoardOwnershipServiceTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BoardOwnershipService boardOwnership;
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        this.boardOwnership = new BoardOwnershipService(boardRepository, jdbcTemplate, new SimpleMeterRegistry());
+        this.boardOwnership.init();
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should look the owner up once and serve later requests from the cache")
+    void shouldCacheOwnerAcrossRequests() {
+        // Given
+        when(boardRepository.findOwnerIdById("board-123")).thenReturn(Optional.of("user-123"));
+
+        // When
+        boolean first = boardOwnership.isOwner("board-123", "user-123");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        boolean second = boardOwnership.isOwner("board-123", "user-123");
+        boolean other = boardOwnership.isOwner("board-123", "user-456");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(other);
+        verify(boardRepository, times(1)).findOwnerIdById("board-123");
+    }
+
+    @Test
+    @DisplayName("Should not cache boards that do not exist")
+    void shouldNotCacheMissingBoard() {
+        // Given
+        when(boardRepository.findOwnerIdById("board-123")).thenReturn(Optional.empty());
+
+        // When
+        boardOwnership.isOwner("board-123", "user-123");
+        boardOwnership.isOwner("board-123", "user-123");
+
+        // Then
+        verify(boardRepository, times(2)).findOwnerIdById("board-123");
+    }
+
+    @Test
+    @DisplayName("Should hand out a board reference once ownership is known")
+    void shouldReturnReferenceForConfirmedOwner() {
+        // Given
+        Board reference = Board.builder().id("board-123").build();
+        when(boardRepository.getReferenceById("board-123")).thenReturn(reference);
+        boardOwnership.remember("board-123", "user-123");
+
+        // When
+        Optional<Board> board = boardOwnership.confirmedBoard("board-123", "user-123");
+
+        // Then
+        assertEquals(Optional.of(reference), board);
+        verify(boardRepository, never()).findByIdAndOwnerId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not confirm a board for another user")
+    void shouldNotConfirmForOtherUser() {
+        // Given
+        boardOwnership.remember("board-123", "user-123");
+
+        // When & Then
+        assertTrue(boardOwnership.confirmedBoard("board-123", "user-456").isEmpty());
+        verifyNoInteractions(boardRepository);
+    }
+
+    @Test
+    @DisplayName("Should forget a deleted board and notify the other nodes")
+    void shouldEvictAndNotify() {
+        // Given
+        boardOwnership.remember("board-123", "user-123");
+
+        // When
+        boardOwnership.evict("board-123");
+
+        // Then
+        assertTrue(boardOwnership.confirmedBoard("board-123", "user-123").isEmpty());
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)", BoardOwnershipService.CHANNEL, "board-123");
+    }
+
+    @Test
+    @DisplayName("Should load an unproven board once and hand out references for the rest of the request")
+    void shouldFindOwnedBoardOncePerRequest() {
+        // Given
+        User user = User.builder().id("user-123").build();
+        Board board = Board.builder().id("board-123").build();
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-123")).thenReturn(Optional.of(board));
+        when(boardRepository.getReferenceById("board-123")).thenReturn(board);
+
+        // When
+        Optional<Board> first = boardOwnership.findOwnedBoard("board-123", user);
+        Optional<Board> second = boardOwnership.findOwnedBoard("board-123", user);
+
+        // Then
+        assertEquals(Optional.of(board), first);
+        assertEquals(Optional.of(board), second);
+        verify(boardRepository, times(1)).findByIdAndOwnerId("board-123", "user-123");
+    }
+
+    @Test
+    @DisplayName("Should find nothing for a board the user does not own")
+    void shouldNotFindForeignBoard() {
+        // Given
+        User user = User.builder().id("user-456").build();
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-456")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertTrue(boardOwnership.findOwnedBoard("board-123", user).isEmpty());
+        assertTrue(boardOwnership.confirmedBoard("board-123", "user-456").isEmpty());
+    }
+}
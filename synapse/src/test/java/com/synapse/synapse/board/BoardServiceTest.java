@@ -2,8 +2,19 @@ package com.synapse.synapse.board;
 
 import com.synapse.synapse.board.request.BoardRequestDto;
 import com.synapse.synapse.board.request.BoardResponseDto;
+import com.synapse.synapse.board.request.BoardSnapshotDto;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.link.Link;
+import com.synapse.synapse.link.LinkMapper;
+import com.synapse.synapse.link.LinkRepository;
+import com.synapse.synapse.link.LinkResponse;
+import com.synapse.synapse.note.ImageBlobService;
+import com.synapse.synapse.note.Note;
+import com.synapse.synapse.note.NoteMapper;
+import com.synapse.synapse.note.NoteRepository;
+import com.synapse.synapse.note.NoteResponseDto;
+import com.synapse.synapse.sync.BoardChangeTracker;
 import com.synapse.synapse.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +30,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +48,30 @@ class BoardServiceTest {
     @Mock
     private BoardMapper boardMapper;
 
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteMapper noteMapper;
+
+    @Mock
+    private LinkRepository linkRepository;
+
+    @Mock
+    private LinkMapper linkMapper;
+
+    @Mock
+    private BoardChangeTracker changeTracker;
+
+    @Mock
+    private ImageBlobService imageBlobService;
+
+    @Mock
+    private BoardOwnershipService boardOwnership;
+
+    @Mock
+    private BoardJdbcRepository boardJdbcRepository;
+
     // =========================
     // Service under test
     // =========================
@@ -216,6 +253,66 @@ class BoardServiceTest {
         }
     }
 
+    // ======================================================
+    // Board Snapshot Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Board Snapshot Tests")
+    class BoardSnapshotTests {
+
+        @Test
+        @DisplayName("Should return board, notes and links in one snapshot")
+        void shouldReturnSnapshot() {
+            // Given
+            Note note = Note.builder().id("note-1").board(testBoard).build();
+            Link link = Link.builder().id("link-1").board(testBoard).build();
+            NoteResponseDto noteDto = NoteResponseDto.builder().id("note-1").build();
+            LinkResponse linkDto = LinkResponse.builder().id("link-1").build();
+
+            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+                    .thenReturn(Optional.of(testBoard));
+            when(boardMapper.toDto(testBoard))
+                    .thenReturn(boardResponseDto);
+            when(noteRepository.findAllByBoardId("board-123"))
+                    .thenReturn(List.of(note));
+            when(noteMapper.toNoteResponse(note))
+                    .thenReturn(noteDto);
+            when(linkRepository.findByBoardId("board-123"))
+                    .thenReturn(List.of(link));
+            when(linkMapper.toResponse(link))
+                    .thenReturn(linkDto);
+
+            // When
+            BoardSnapshotDto result = boardService.getSnapshot("board-123", testUser);
+
+            // Then
+            assertEquals(boardResponseDto, result.getBoard());
+            assertEquals(List.of(noteDto), result.getNotes());
+            assertEquals(List.of(linkDto), result.getLinks());
+
+            // a single ownership lookup for the whole payload
+            verify(boardRepository, times(1)).findByIdAndOwnerId("board-123", testUser.getId());
+        }
+
+        @Test
+        @DisplayName("Should throw BOARD_NOT_FOUND and skip note/link queries")
+        void shouldThrowWhenBoardNotFound() {
+            // Given
+            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+                    .thenReturn(Optional.empty());
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> boardService.getSnapshot("board-123", testUser)
+            );
+
+            assertEquals(ErrorCode.BOARD_NOT_FOUND, exception.getErrorCode());
+            verifyNoInteractions(noteRepository, linkRepository);
+        }
+    }
+
     // ======================================================
     // Update Board Tests
     // ======================================================
@@ -278,6 +375,51 @@ class BoardServiceTest {
         }
     }
 
+    // ======================================================
+    // Duplicate Board Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Duplicate Board Tests")
+    class DuplicateBoardTests {
+
+        @Test
+        @DisplayName("Should copy the board in the database and share its images")
+        void shouldDuplicateBoard() {
+            // Given
+            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+                    .thenReturn(Optional.of(testBoard));
+            Board copy = Board.builder().name("My Board (copy)").build();
+            when(boardRepository.findById(anyString())).thenReturn(Optional.of(copy));
+            when(boardMapper.toDto(copy)).thenReturn(boardResponseDto);
+
+            // When
+            BoardResponseDto result = boardService.duplicate("board-123", null, testUser);
+
+            // Then
+            assertEquals(boardResponseDto, result);
+            verify(boardJdbcRepository).copyBoard(eq("board-123"), anyString(), eq("My Board (copy)"), eq("user-123"));
+            verify(imageBlobService).shareBoardImages(anyString());
+            verifyNoInteractions(noteRepository, linkRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw BOARD_NOT_FOUND without copying")
+        void shouldNotDuplicateForeignBoard() {
+            // Given
+            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+                    .thenReturn(Optional.empty());
+
+            // When
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> boardService.duplicate("board-123", "Template", testUser));
+
+            // Then
+            assertEquals(ErrorCode.BOARD_NOT_FOUND, exception.getErrorCode());
+            verifyNoInteractions(boardJdbcRepository, imageBlobService);
+        }
+    }
+
     // ======================================================
     // Delete Board Tests
     // ======================================================
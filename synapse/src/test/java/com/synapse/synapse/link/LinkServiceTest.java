@@ -8,10 +8,11 @@ import java.util.List;
 import java.util.Optional;
 
 import com.synapse.synapse.board.Board;
-import com.synapse.synapse.board.BoardRepository;
+import com.synapse.synapse.board.BoardOwnershipService;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.note.Note;
 import com.synapse.synapse.note.NoteRepository;
+import com.synapse.synapse.sync.BoardChangeTracker;
 import com.synapse.synapse.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,13 +30,16 @@ class LinkServiceTest {
 
     @Mock
     private LinkRepository linkRepository;
+
     @Mock
-    private BoardRepository boardRepository;
+    private BoardOwnershipService boardOwnership;
     @Mock
     private NoteRepository noteRepository;
     @Mock
     private LinkMapper linkMapper;
     @Mock
+    private BoardChangeTracker changeTracker;
+    @Mock
     private Authentication authentication;
     @Mock
     private User user;
@@ -47,8 +51,6 @@ class LinkServiceTest {
 
     @BeforeEach
     void setUp() {
-        when(user.getId()).thenReturn("user-1");
-
         board = Board.builder()
                 .id("board-1")
                 .owner(user)
@@ -78,7 +80,7 @@ class LinkServiceTest {
     void getBoardLinks_success() {
         when(authentication.getPrincipal()).thenReturn(user);
 
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(linkRepository.findByBoardId("board-1"))
@@ -103,7 +105,7 @@ class LinkServiceTest {
         request.setFromNoteId("note-1");
         request.setToNoteId("note-2");
 
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(noteRepository.findByIdAndBoardId("note-1", "board-1"))
@@ -132,7 +134,7 @@ class LinkServiceTest {
         request.setFromNoteId("note-1");
         request.setToNoteId("note-1");
 
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(noteRepository.findByIdAndBoardId("note-1", "board-1"))
@@ -152,7 +154,7 @@ class LinkServiceTest {
         UpdateLinkRequest request = new UpdateLinkRequest();
         request.setToNoteId("note-2");
 
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(linkRepository.findByIdAndBoardId("link-1", "board-1"))
@@ -177,7 +179,7 @@ class LinkServiceTest {
     void deleteLink_success() {
         when(authentication.getPrincipal()).thenReturn(user);
 
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(linkRepository.existsByBoardIdAndId("board-1", "link-1"))
@@ -192,7 +194,7 @@ class LinkServiceTest {
     void deleteLink_notFound() {
         when(authentication.getPrincipal()).thenReturn(user);
 
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(linkRepository.existsByBoardIdAndId("board-1", "link-1"))
@@ -208,7 +210,7 @@ class LinkServiceTest {
 
     @Test
     void getLinkById_success() {
-        when(boardRepository.findByIdAndOwnerId("board-1", "user-1"))
+        when(boardOwnership.findOwnedBoard("board-1", user))
                 .thenReturn(Optional.of(board));
 
         when(linkRepository.findByIdAndBoardId("link-1", "board-1"))
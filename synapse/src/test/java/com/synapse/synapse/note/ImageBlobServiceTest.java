@@ -0,0 +1,161 @@
+package com.synapse.synapse.note;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageBlobService Unit Tests")
+class ImageBlobServiceTest {
+
+    // sha256("abc")
+    private static final String KEY = "blobs/ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    @InjectMocks
+    private ImageBlobService imageBlobService;
+
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "photo.png", "image/png", "abc".getBytes());
+
+    @Nested
+    @DisplayName("Store Tests")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Should upload the first copy under its content hash")
+        void shouldUploadNewContent() throws IOException {
+            // Given
+            when(imageBlobRepository.findRefCount(KEY)).thenReturn(1);
+
+            // When
+            String key = imageBlobService.store(file);
+
+            // Then
+            assertEquals(KEY, key);
+            verify(imageBlobRepository).acquire(KEY, KEY.substring("blobs/".length()), "image/png", 3L);
+            verify(s3Service).uploadFile(file, KEY);
+        }
+
+        @Test
+        @DisplayName("Should reuse the stored object for duplicate content")
+        void shouldSkipUploadForDuplicate() throws IOException {
+            // Given
+            when(imageBlobRepository.findRefCount(KEY)).thenReturn(4);
+
+            // When
+            String key = imageBlobService.store(file);
+
+            // Then
+            assertEquals(KEY, key);
+            verifyNoInteractions(s3Service);
+        }
+    }
+
+    @Nested
+    @DisplayName("Release Tests")
+    class ReleaseTests {
+
+        @Test
+        @DisplayName("Should keep the object while other notes reference it")
+        void shouldKeepSharedObject() {
+            // Given
+            when(imageBlobRepository.release(KEY)).thenReturn(1);
+            when(imageBlobRepository.deleteIfUnreferenced(KEY)).thenReturn(0);
+
+            // When
+            imageBlobService.release(KEY);
+
+            // Then
+            verify(s3Service, never()).deleteFile(anyString());
+        }
+
+        @Test
+        @DisplayName("Should delete the object with its last reference")
+        void shouldDeleteLastReference() {
+            // Given
+            when(imageBlobRepository.release(KEY)).thenReturn(1);
+            when(imageBlobRepository.deleteIfUnreferenced(KEY)).thenReturn(1);
+
+            // When
+            imageBlobService.release(KEY);
+
+            // Then
+            verify(s3Service).deleteFile(KEY);
+        }
+
+        @Test
+        @DisplayName("Should delete untracked legacy keys directly")
+        void shouldDeleteLegacyKey() {
+            // When
+            imageBlobService.release("notes/note-1/abc-photo.png");
+
+            // Then
+            verify(s3Service).deleteFile("notes/note-1/abc-photo.png");
+            verify(imageBlobRepository, never()).deleteIfUnreferenced(any());
+        }
+
+        @Test
+        @DisplayName("Should keep a legacy key shared by a duplicated board")
+        void shouldKeepSharedLegacyKey() {
+            // Given
+            when(imageBlobRepository.release("notes/note-1/abc-photo.png")).thenReturn(1);
+            when(imageBlobRepository.deleteIfUnreferenced("notes/note-1/abc-photo.png")).thenReturn(0);
+
+            // When
+            imageBlobService.release("notes/note-1/abc-photo.png");
+
+            // Then
+            verify(s3Service, never()).deleteFile(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Share Board Images Tests")
+    class ShareBoardImagesTests {
+
+        @Test
+        @DisplayName("Should take one reference per copied note")
+        void shouldShareImages() {
+            // Given
+            when(imageBlobRepository.countBoardKeys("board-2")).thenReturn(3);
+            when(imageBlobRepository.acquireBoardKeys("board-2")).thenReturn(3);
+
+            // When
+            imageBlobService.shareBoardImages("board-2");
+
+            // Then
+            verify(imageBlobRepository).adoptBoardKeys("board-2");
+            verifyNoInteractions(s3Service);
+        }
+
+        @Test
+        @DisplayName("Should fail when an image was deleted while sharing")
+        void shouldFailOnReleasedImage() {
+            // Given
+            when(imageBlobRepository.countBoardKeys("board-2")).thenReturn(3);
+            when(imageBlobRepository.acquireBoardKeys("board-2")).thenReturn(2);
+
+            // When / Then
+            assertThrows(ConcurrencyFailureException.class, () -> imageBlobService.shareBoardImages("board-2"));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.synapse.synapse.note;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NoteGeometryBuffer Unit Tests")
+class NoteGeometryBufferTest {
+
+    @Mock
+    private NoteGeometryWriter geometryWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NoteGeometryBuffer geometryBuffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        geometryBuffer = new NoteGeometryBuffer(geometryWriter, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated moves of a note into one write")
+    @SuppressWarnings("unchecked")
+    void shouldCoalescePerNote() {
+        // Given
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(1.0).width(50.0).build(), "user-1");
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(2.0).positionY(3.0).build(), "user-1");
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-2").positionX(9.0).build(), "user-1");
+
+        // When
+        geometryBuffer.flush();
+
+        // Then
+        ArgumentCaptor<List<NotePositionUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(geometryWriter, times(1)).write(eq("board-1"), captor.capture(), eq("user-1"), any());
+
+        List<NotePositionUpdate> written = captor.getValue();
+        assertEquals(2, written.size());
+
+        NotePositionUpdate note1 = written.stream()
+                .filter(u -> u.getId().equals("note-1"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2.0, note1.getPositionX());
+        assertEquals(3.0, note1.getPositionY());
+        assertEquals(50.0, note1.getWidth()); // kept from the earlier move
+        assertEquals(0, geometryBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should not write anything when nothing is pending")
+    void shouldSkipEmptyFlush() {
+        // When
+        geometryBuffer.flush();
+
+        // Then
+        verifyNoInteractions(geometryWriter);
+    }
+
+    @Test
+    @DisplayName("Should keep flushing other boards when one write fails")
+    void shouldIsolateFailures() {
+        // Given
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(1.0).build(), "user-1");
+        geometryBuffer.submit("board-2", NotePositionUpdate.builder().id("note-2").positionX(1.0).build(), "user-1");
+        when(geometryWriter.write(eq("board-1"), anyList(), eq("user-1"), any()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        // When
+        geometryBuffer.flush();
+
+        // Then
+        verify(geometryWriter).write(eq("board-2"), anyList(), eq("user-1"), any());
+        assertEquals(1, geometryBuffer.pendingCount()); // board-1 waits for the next flush
+        assertEquals(1.0, meterRegistry.counter("notes.write-behind.flush.failures").count());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed flush without overwriting newer moves")
+    @SuppressWarnings("unchecked")
+    void shouldRequeueFailedFlush() {
+        // Given
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(1.0).positionY(1.0).build(), "user-1");
+        when(geometryWriter.write(eq("board-1"), anyList(), eq("user-1"), any()))
+                .thenAnswer(invocation -> {
+                    // the user keeps dragging while the failing write runs
+                    geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(2.0).build(), "user-1");
+                    throw new IllegalStateException("db down");
+                })
+                .thenReturn(new int[0][]);
+
+        // When
+        geometryBuffer.flush();
+        geometryBuffer.flush();
+
+        // Then
+        ArgumentCaptor<List<NotePositionUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(geometryWriter, times(2)).write(eq("board-1"), captor.capture(), eq("user-1"), any());
+
+        NotePositionUpdate retried = captor.getAllValues().get(1).get(0);
+        assertEquals(2.0, retried.getPositionX());
+        assertEquals(1.0, retried.getPositionY()); // kept from the failed flush
+        assertEquals(0, geometryBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should write every move submitted while flushes retire board maps")
+    @SuppressWarnings("unchecked")
+    void shouldNotLoseMovesDuringFlush() throws InterruptedException {
+        // Given
+        Set<String> written = ConcurrentHashMap.newKeySet();
+        when(geometryWriter.write(eq("board-1"), anyList(), eq("user-1"), any())).thenAnswer(invocation -> {
+            List<NotePositionUpdate> updates = invocation.getArgument(1);
+            updates.forEach(update -> written.add(update.getId()));
+            return new int[0][];
+        });
+
+        AtomicBoolean submitting = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (submitting.get()) {
+                geometryBuffer.flush();
+            }
+        });
+        flusher.start();
+
+        // When
+        int moves = 20_000;
+        for (int i = 0; i < moves; i++) {
+            geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-" + i).positionX(1.0).build(), "user-1");
+        }
+        submitting.set(false);
+        flusher.join();
+        geometryBuffer.flush();
+
+        // Then
+        assertEquals(moves, written.size());
+        assertEquals(0, geometryBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should drop the pending geometry of notes written synchronously")
+    void shouldDiscardPendingNotes() {
+        // Given
+        ReflectionTestUtils.setField(geometryBuffer, "enabled", true);
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(1.0).build(), "user-1");
+
+        // When
+        geometryBuffer.discard("board-1", List.of("note-1"));
+        geometryBuffer.flush();
+
+        // Then
+        verifyNoInteractions(geometryWriter);
+        assertEquals(0, geometryBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should not let a drained drag overwrite a synchronous write that committed first")
+    void shouldFenceOutDrainedNotes() {
+        // Given
+        ReflectionTestUtils.setField(geometryBuffer, "enabled", true);
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(1.0).build(), "user-1");
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-2").positionX(1.0).build(), "user-1");
+        Set<String> written = ConcurrentHashMap.newKeySet();
+        when(geometryWriter.write(eq("board-1"), anyList(), eq("user-1"), any())).thenAnswer(invocation -> {
+            // a synchronous write of note-1 took the board lock before the flush
+            geometryBuffer.discard("board-1", List.of("note-1"));
+
+            List<NotePositionUpdate> updates = invocation.getArgument(1);
+            Predicate<NotePositionUpdate> current = invocation.getArgument(3);
+            updates.stream().filter(current).forEach(update -> written.add(update.getId()));
+            return new int[0][];
+        });
+
+        // When
+        geometryBuffer.flush();
+
+        // Then
+        assertEquals(Set.of("note-2"), written);
+        assertEquals(0, geometryBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should keep moves submitted after a synchronous write")
+    void shouldKeepMovesAfterDiscard() {
+        // Given
+        ReflectionTestUtils.setField(geometryBuffer, "enabled", true);
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(1.0).build(), "user-1");
+        geometryBuffer.discard("board-1", List.of("note-1"));
+        geometryBuffer.submit("board-1", NotePositionUpdate.builder().id("note-1").positionX(2.0).build(), "user-1");
+        when(geometryWriter.write(eq("board-1"), anyList(), eq("user-1"), any())).thenAnswer(invocation -> {
+            Predicate<NotePositionUpdate> current = invocation.getArgument(3);
+            List<NotePositionUpdate> updates = invocation.getArgument(1);
+            assertTrue(updates.stream().allMatch(current));
+            return new int[0][];
+        });
+
+        // When
+        geometryBuffer.flush();
+
+        // Then
+        verify(geometryWriter).write(eq("board-1"), anyList(), eq("user-1"), any());
+        assertEquals(0, geometryBuffer.pendingCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.synapse.synapse.note;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NoteImageVariantService Unit Tests")
+class NoteImageVariantServiceTest {
+
+    private static final String KEY = "notes/note-1/abc-photo.png";
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private NoteImageVariantWriter imageVariantWriter;
+
+    @InjectMocks
+    private NoteImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(imageVariantService, "maxPixels", 1_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should downscale to the target width keeping the aspect ratio")
+    void shouldResizeKeepingAspectRatio() {
+        // Given
+        BufferedImage source = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB);
+
+        // When
+        BufferedImage thumb = NoteImageVariantService.resize(source, ImageVariant.THUMB.getWidth());
+
+        // Then
+        assertEquals(160, thumb.getWidth());
+        assertEquals(80, thumb.getHeight());
+    }
+
+    @Test
+    @DisplayName("Should store every variant next to the original and mark the note")
+    void shouldGenerateVariants() throws IOException {
+        // Given
+        when(s3Service.openObject(KEY)).thenReturn(png(1200, 800));
+
+        // When
+        imageVariantService.generate("note-1", KEY);
+
+        // Then
+        verify(s3Service).putObject(eq(KEY + ".thumb.jpg"), any(), eq("image/jpeg"));
+        verify(s3Service).putObject(eq(KEY + ".medium.jpg"), any(), eq("image/jpeg"));
+        verify(imageVariantWriter).markReady("note-1", KEY);
+    }
+
+    @Test
+    @DisplayName("Should leave the note untouched when the object is not a readable image")
+    void shouldSkipUnreadableImage() {
+        // Given
+        when(s3Service.openObject(KEY)).thenReturn(stream(new byte[]{1, 2, 3}));
+
+        // When
+        imageVariantService.generate("note-1", KEY);
+
+        // Then
+        verify(s3Service, never()).putObject(any(), any(), any());
+        verifyNoInteractions(imageVariantWriter);
+    }
+
+    @Test
+    @DisplayName("Should skip images whose header reports more pixels than the limit")
+    void shouldSkipOversizedImage() throws IOException {
+        // Given
+        when(s3Service.openObject(KEY)).thenReturn(png(1500, 1000));
+
+        // When
+        imageVariantService.generate("note-1", KEY);
+
+        // Then
+        verify(s3Service, never()).putObject(any(), any(), any());
+        verifyNoInteractions(imageVariantWriter);
+    }
+
+    @Test
+    @DisplayName("Should subsample wide sources down to about twice the medium width")
+    void shouldSubsampleWideSources() {
+        // When & Then
+        assertEquals(1, NoteImageVariantService.subsampling(1200));
+        assertEquals(1, NoteImageVariantService.subsampling(2000));
+        assertEquals(6, NoteImageVariantService.subsampling(8000));
+    }
+
+    private static ResponseInputStream<GetObjectResponse> png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return stream(out.toByteArray());
+    }
+
+    private static ResponseInputStream<GetObjectResponse> stream(byte[] content) {
+        return new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content))
+        );
+    }
+}
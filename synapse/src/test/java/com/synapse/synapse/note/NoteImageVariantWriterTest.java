@@ -0,0 +1,62 @@
+package com.synapse.synapse.note;
+
+import com.synapse.synapse.common.OwnershipView;
+import com.synapse.synapse.sync.BoardChangeTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NoteImageVariantWriter Unit Tests")
+class NoteImageVariantWriterTest {
+
+    private static final String KEY = "notes/note-1/abc-photo.png";
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private BoardChangeTracker changeTracker;
+
+    @InjectMocks
+    private NoteImageVariantWriter imageVariantWriter;
+
+    @Test
+    @DisplayName("Should stamp the note with a new board version when its variants are ready")
+    void shouldBumpChangeVersion() {
+        // Given
+        OwnershipView ownership = mock(OwnershipView.class);
+        when(ownership.getBoardId()).thenReturn("board-1");
+        when(noteRepository.findOwnershipById("note-1")).thenReturn(Optional.of(ownership));
+        when(changeTracker.nextVersion("board-1")).thenReturn(42L);
+
+        // When
+        imageVariantWriter.markReady("note-1", KEY);
+
+        // Then
+        verify(noteRepository).markImageVariantsReady("note-1", KEY, 42L);
+    }
+
+    @Test
+    @DisplayName("Should leave the board version alone when the note is gone")
+    void shouldSkipDeletedNote() {
+        // Given
+        when(noteRepository.findOwnershipById("note-1")).thenReturn(Optional.empty());
+
+        // When
+        imageVariantWriter.markReady("note-1", KEY);
+
+        // Then
+        verifyNoInteractions(changeTracker);
+        verify(noteRepository, never()).markImageVariantsReady(any(), any(), anyLong());
+    }
+}
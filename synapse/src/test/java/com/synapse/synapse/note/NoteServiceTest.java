@@ -1,19 +1,22 @@
 package com.synapse.synapse.note;
 
 import com.synapse.synapse.board.Board;
-import com.synapse.synapse.board.BoardRepository;
+import com.synapse.synapse.board.BoardOwnershipService;
 import com.synapse.synapse.exception.BusinessException;
 import com.synapse.synapse.exception.ErrorCode;
 import com.synapse.synapse.link.LinkRepository;
+import com.synapse.synapse.sync.BoardChangeTracker;
 import com.synapse.synapse.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,12 +38,34 @@ class NoteServiceTest {
     @Mock
     private NoteRepository noteRepository;
 
+
     @Mock
-    private BoardRepository boardRepository;
+    private BoardOwnershipService boardOwnership;
 
     @Mock
     private NoteMapper noteMapper;
 
+    @Mock
+    private BoardChangeTracker changeTracker;
+
+    @Mock
+    private NoteGeometryWriter geometryWriter;
+
+    @Mock
+    private NoteGeometryBuffer geometryBuffer;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private ImageBlobService imageBlobService;
+
+    @Mock
+    private PendingUploadRepository pendingUploadRepository;
+
+    @Mock
+    private NoteImageVariantService imageVariantService;
+
     // =========================
     // Service under test
     // =========================
@@ -121,50 +146,94 @@ class NoteServiceTest {
         void shouldReturnNotesForBoard() {
             // Given
             // Board ownership check
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             // Notes belonging to the board
             when(noteRepository.findAllByBoardId(testBoard.getId()))
                     .thenReturn(List.of(testNote));
 
-            when(noteMapper.toNoteResponse(testNote))
+            when(noteMapper.toNoteResponse(testNote, ImageVariant.THUMB))
                     .thenReturn(noteResponseDto);
 
             // When
-            List<NoteResponseDto> result = noteService.getNotes("board-123", testUser);
+            List<NoteResponseDto> result = noteService.getNotes("board-123", ImageVariant.THUMB, testUser);
 
             // Then
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(noteResponseDto, result.get(0));
 
-            verify(boardRepository).findByIdAndOwnerId("board-123", testUser.getId());
+            verify(boardOwnership).findOwnedBoard("board-123", testUser);
             verify(noteRepository).findAllByBoardId(testBoard.getId());
-            verify(noteMapper).toNoteResponse(testNote);
+            verify(noteMapper).toNoteResponse(testNote, ImageVariant.THUMB);
         }
 
         @Test
         @DisplayName("Should throw BOARD_NOT_FOUND when board does not exist")
         void shouldThrowWhenBoardNotFound() {
             // Given
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.empty());
 
             // When & Then
             BusinessException exception = assertThrows(
                     BusinessException.class,
-                    () -> noteService.getNotes("board-123", testUser)
+                    () -> noteService.getNotes("board-123", ImageVariant.ORIGINAL, testUser)
             );
 
             assertEquals(ErrorCode.BOARD_NOT_FOUND, exception.getErrorCode());
 
-            verify(boardRepository).findByIdAndOwnerId("board-123", testUser.getId());
+            verify(boardOwnership).findOwnedBoard("board-123", testUser);
             verifyNoInteractions(noteRepository);
             verifyNoInteractions(noteMapper);
         }
     }
 
+    // ======================================================
+    // Get Notes In Viewport Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Get Notes In Viewport Tests")
+    class GetNotesInViewportTests {
+
+        @Test
+        @DisplayName("Should return notes intersecting the viewport")
+        void shouldReturnNotesInViewport() {
+            // Given
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+
+            when(noteRepository.findAllByBoardIdInViewport("board-123", 0, 0, 800, 600))
+                    .thenReturn(List.of(testNote));
+
+            when(noteMapper.toNoteResponse(testNote, ImageVariant.ORIGINAL))
+                    .thenReturn(noteResponseDto);
+
+            // When
+            List<NoteResponseDto> result = noteService.getNotesInViewport(
+                    "board-123", 0, 0, 800, 600, ImageVariant.ORIGINAL, testUser);
+
+            // Then
+            assertEquals(List.of(noteResponseDto), result);
+            verify(noteRepository, never()).findAllByBoardId(any());
+        }
+
+        @Test
+        @DisplayName("Should throw INVALID_VIEWPORT when min exceeds max")
+        void shouldRejectInvertedViewport() {
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> noteService.getNotesInViewport("board-123", 100, 0, 50, 600, ImageVariant.ORIGINAL, testUser)
+            );
+
+            assertEquals(ErrorCode.INVALID_VIEWPORT, exception.getErrorCode());
+            verifyNoInteractions(boardOwnership, noteRepository);
+        }
+    }
+
     // ======================================================
     // Get Note By Id Tests
     // ======================================================
@@ -177,7 +246,7 @@ class NoteServiceTest {
         @DisplayName("Should return note when board and note exist and owned by user")
         void shouldReturnNote() {
             // Given
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             when(noteRepository.findByIdAndBoardIdAndAuthorId(
@@ -195,7 +264,7 @@ class NoteServiceTest {
             assertNotNull(result);
             assertEquals(noteResponseDto, result);
 
-            verify(boardRepository).findByIdAndOwnerId("board-123", testUser.getId());
+            verify(boardOwnership).findOwnedBoard("board-123", testUser);
             verify(noteRepository).findByIdAndBoardIdAndAuthorId(
                     "note-123", "board-123", testUser.getId());
             verify(noteMapper).toNoteResponse(testNote);
@@ -205,7 +274,7 @@ class NoteServiceTest {
         @DisplayName("Should throw NOTE_NOT_FOUND when note does not exist")
         void shouldThrowWhenNoteNotFound() {
             // Given
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             when(noteRepository.findByIdAndBoardIdAndAuthorId(
@@ -238,7 +307,7 @@ class NoteServiceTest {
         @DisplayName("Should create note successfully")
         void shouldCreateNoteSuccessfully() {
             // Given
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             when(noteMapper.toEntity(noteRequestDto, testBoard, testUser))
@@ -276,7 +345,7 @@ class NoteServiceTest {
         @DisplayName("Should update note successfully")
         void shouldUpdateNoteSuccessfully() {
             // Given
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             when(noteRepository.findByIdAndBoardId("note-123", testBoard.getId()))
@@ -295,6 +364,7 @@ class NoteServiceTest {
             // updateEntity mutates the existing note (no save required)
             verify(noteMapper).updateEntity(testNote, noteRequestDto);
             verify(noteMapper).toNoteResponse(testNote);
+            verify(geometryBuffer).discard("board-123", List.of("note-123"));
         }
     }
 
@@ -314,7 +384,7 @@ class NoteServiceTest {
 
                     .build();
 
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             when(noteRepository.findByIdAndBoardId("note-123", testBoard.getId()))
@@ -333,6 +403,301 @@ class NoteServiceTest {
             verify(noteMapper).patchEntity(testNote, patchDto);
             verify(noteMapper).toNoteResponse(testNote);
         }
+
+        @Test
+        @DisplayName("Should buffer geometry-only patch in write-behind mode")
+        void shouldBufferGeometryPatch() {
+            // Given
+            NoteRequestDto patchDto = NoteRequestDto.builder()
+                    .positionX(42.0)
+                    .build();
+
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+
+            when(noteRepository.findByIdAndBoardId("note-123", testBoard.getId()))
+                    .thenReturn(Optional.of(testNote));
+
+            when(geometryBuffer.isEnabled())
+                    .thenReturn(true);
+
+            when(noteMapper.toNoteResponse(testNote))
+                    .thenReturn(noteResponseDto);
+
+            // When
+            NoteResponseDto result =
+                    noteService.patch("board-123", "note-123", patchDto, testUser, true);
+
+            // Then
+            assertEquals(42.0, result.getPositionX());
+
+            verify(geometryBuffer).submit(eq("board-123"), any(NotePositionUpdate.class), eq(testUser.getId()));
+            verify(noteMapper, never()).patchEntity(any(), any());
+            verifyNoInteractions(changeTracker);
+        }
+
+        @Test
+        @DisplayName("Should drop buffered geometry before a synchronous geometry patch")
+        void shouldDiscardBufferedGeometry() {
+            // Given
+            NoteRequestDto patchDto = NoteRequestDto.builder()
+                    .positionX(42.0)
+                    .content("moved")
+                    .build();
+
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+
+            when(noteRepository.findByIdAndBoardId("note-123", testBoard.getId()))
+                    .thenReturn(Optional.of(testNote));
+
+            when(noteMapper.toNoteResponse(testNote))
+                    .thenReturn(noteResponseDto);
+
+            // When
+            noteService.patch("board-123", "note-123", patchDto, testUser, true);
+
+            // Then
+            InOrder order = inOrder(geometryBuffer, changeTracker);
+            order.verify(geometryBuffer).discard("board-123", List.of("note-123"));
+            order.verify(changeTracker).nextVersion("board-123");
+            verify(geometryBuffer, never()).submit(any(), any(), any());
+        }
+    }
+
+    // ======================================================
+    // Batch Position Update Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Batch Position Update Tests")
+    class BatchPositionUpdateTests {
+
+        private NoteBatchPositionRequest request() {
+            return NoteBatchPositionRequest.builder()
+                    .notes(List.of(
+                            NotePositionUpdate.builder().id("note-1").positionX(10.0).positionY(20.0).build(),
+                            NotePositionUpdate.builder().id("note-2").positionX(30.0).positionY(40.0).build()
+                    ))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should write the whole selection with one ownership check")
+        void shouldBatchUpdatePositions() {
+            // Given
+            NoteBatchPositionRequest request = request();
+
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+            when(geometryWriter.write("board-123", request.getNotes(), testUser.getId()))
+                    .thenReturn(new int[][]{{1, 1}});
+
+            // When
+            noteService.batchUpdatePositions("board-123", request, testUser);
+
+            // Then
+            verify(boardOwnership, times(1)).findOwnedBoard("board-123", testUser);
+            verifyNoInteractions(noteRepository);
+
+            InOrder order = inOrder(geometryBuffer, geometryWriter);
+            order.verify(geometryBuffer).discard("board-123", List.of("note-1", "note-2"));
+            order.verify(geometryWriter).write("board-123", request.getNotes(), testUser.getId());
+        }
+
+        @Test
+        @DisplayName("Should throw NOTE_NOT_FOUND when a note is not on the board")
+        void shouldThrowWhenNoteNotOnBoard() {
+            // Given
+            NoteBatchPositionRequest request = request();
+
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+            when(geometryWriter.write("board-123", request.getNotes(), testUser.getId()))
+                    .thenReturn(new int[][]{{1, 0}});
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> noteService.batchUpdatePositions("board-123", request, testUser)
+            );
+
+            assertEquals(ErrorCode.NOTE_NOT_FOUND, exception.getErrorCode());
+        }
+    }
+
+    // ======================================================
+    // Confirm Image Upload Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Confirm Image Upload Tests")
+    class ConfirmImageUploadTests {
+
+        private static final String KEY = "notes/note-123/abc-photo.png";
+
+        @BeforeEach
+        void stubOwnership() {
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+            when(noteRepository.findByIdAndBoardIdAndAuthorId("note-123", "board-123", testUser.getId()))
+                    .thenReturn(Optional.of(testNote));
+        }
+
+        @Test
+        @DisplayName("Should attach the uploaded object and delete the previous image")
+        void shouldConfirmUpload() {
+            // Given
+            testNote.setImageUrl("notes/note-123/old.png");
+            when(pendingUploadRepository.consume(KEY)).thenReturn(1);
+            when(s3Service.findObject(KEY)).thenReturn(Optional.of(
+                    HeadObjectResponse.builder().contentType("image/png").contentLength(1024L).build()));
+            when(changeTracker.nextVersion("board-123")).thenReturn(3L);
+            when(noteRepository.save(testNote)).thenReturn(testNote);
+            when(noteMapper.toNoteResponse(testNote)).thenReturn(noteResponseDto);
+
+            // When
+            NoteResponseDto result = noteService.confirmImageUpload(
+                    "board-123", "note-123", new NoteImageConfirmRequest(KEY), testUser);
+
+            // Then
+            assertEquals(noteResponseDto, result);
+            assertEquals(KEY, testNote.getImageUrl());
+            InOrder order = inOrder(noteRepository, imageBlobService);
+            order.verify(noteRepository).flush();
+            order.verify(imageBlobService).release("notes/note-123/old.png");
+            verify(imageVariantService).generateAfterCommit("note-123", KEY);
+        }
+
+        @Test
+        @DisplayName("Should reject a key outside the note prefix")
+        void shouldRejectForeignKey() {
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> noteService.confirmImageUpload(
+                            "board-123", "note-123", new NoteImageConfirmRequest("notes/other/x.png"), testUser)
+            );
+
+            assertEquals(ErrorCode.INVALID_IMAGE_KEY, exception.getErrorCode());
+            verifyNoInteractions(s3Service);
+        }
+
+        @Test
+        @DisplayName("Should throw IMAGE_NOT_UPLOADED when the object does not exist")
+        void shouldThrowWhenObjectMissing() {
+            // Given
+            when(pendingUploadRepository.consume(KEY)).thenReturn(1);
+            when(s3Service.findObject(KEY)).thenReturn(Optional.empty());
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> noteService.confirmImageUpload(
+                            "board-123", "note-123", new NoteImageConfirmRequest(KEY), testUser)
+            );
+
+            assertEquals(ErrorCode.IMAGE_NOT_UPLOADED, exception.getErrorCode());
+            verify(noteRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a key that was never handed out or was already swept")
+        void shouldRejectUnissuedKey() {
+            // Given
+            when(pendingUploadRepository.consume(KEY)).thenReturn(0);
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> noteService.confirmImageUpload(
+                            "board-123", "note-123", new NoteImageConfirmRequest(KEY), testUser)
+            );
+
+            assertEquals(ErrorCode.IMAGE_NOT_UPLOADED, exception.getErrorCode());
+            verifyNoInteractions(s3Service);
+        }
+    }
+
+    // ======================================================
+    // Create Image Upload Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Create Image Upload Tests")
+    class CreateImageUploadTests {
+
+        private static final String KEY = "notes/note-123/abc-photo.png";
+
+        @BeforeEach
+        void stubOwnership() {
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+            when(noteRepository.findByIdAndBoardIdAndAuthorId("note-123", "board-123", testUser.getId()))
+                    .thenReturn(Optional.of(testNote));
+        }
+
+        @Test
+        @DisplayName("Should sign the declared length and remember the key until it is confirmed")
+        void shouldCreateImageUpload() {
+            // Given
+            NoteImageUploadRequest request = new NoteImageUploadRequest("photo.png", "image/png", 2048L);
+            NoteImageUploadResponse upload = NoteImageUploadResponse.builder().key(KEY).build();
+            when(s3Service.presignUpload("note-123", "photo.png", "image/png", 2048L)).thenReturn(upload);
+
+            // When
+            NoteImageUploadResponse result = noteService.createImageUpload("board-123", "note-123", request, testUser);
+
+            // Then
+            assertEquals(upload, result);
+            verify(pendingUploadRepository).record(KEY, "note-123");
+        }
+
+        @Test
+        @DisplayName("Should refuse to sign an upload above the image size limit")
+        void shouldRejectOversizedUpload() {
+            // Given
+            NoteImageUploadRequest request = new NoteImageUploadRequest("photo.png", "image/png", 11L * 1024 * 1024);
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> noteService.createImageUpload("board-123", "note-123", request, testUser)
+            );
+
+            assertEquals(ErrorCode.FILE_TOO_LARGE, exception.getErrorCode());
+            verifyNoInteractions(s3Service, pendingUploadRepository);
+        }
+    }
+
+    // ======================================================
+    // Delete Image Tests
+    // ======================================================
+
+    @Nested
+    @DisplayName("Delete Image Tests")
+    class DeleteImageTests {
+
+        @Test
+        @DisplayName("Should write the detached note before releasing its image")
+        void shouldFlushBeforeRelease() {
+            // Given
+            testNote.setImageUrl("notes/note-123/old.png");
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
+                    .thenReturn(Optional.of(testBoard));
+            when(noteRepository.findByIdAndBoardIdAndAuthorId("note-123", "board-123", testUser.getId()))
+                    .thenReturn(Optional.of(testNote));
+            when(changeTracker.nextVersion("board-123")).thenReturn(4L);
+
+            // When
+            noteService.deleteImage("board-123", "note-123", testUser);
+
+            // Then
+            assertNull(testNote.getImageUrl());
+            InOrder order = inOrder(noteRepository, imageBlobService);
+            order.verify(noteRepository).flush();
+            order.verify(imageBlobService).release("notes/note-123/old.png");
+        }
     }
 
     // ======================================================
@@ -347,7 +712,7 @@ class NoteServiceTest {
         @DisplayName("Should delete note successfully")
         void shouldDeleteNote() {
             // Given
-            when(boardRepository.findByIdAndOwnerId("board-123", testUser.getId()))
+            when(boardOwnership.findOwnedBoard("board-123", testUser))
                     .thenReturn(Optional.of(testBoard));
 
             when(noteRepository.findByIdAndBoardId("note-123", testBoard.getId()))
@@ -0,0 +1,58 @@
+package com.synapse.synapse.note;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PendingUploadSweeper Unit Tests")
+class PendingUploadSweeperTest {
+
+    @Mock
+    private PendingUploadRepository pendingUploadRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    @InjectMocks
+    private PendingUploadSweeper sweeper;
+
+    @Test
+    @DisplayName("Should delete expired unconfirmed objects and then their rows")
+    void shouldSweepExpiredUploads() {
+        // Given
+        List<String> keys = List.of("notes/note-1/a-photo.png", "notes/note-2/b-photo.png");
+        when(pendingUploadRepository.lockExpired(any(), anyInt())).thenReturn(keys);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(s3Service).deleteFile("notes/note-1/a-photo.png");
+        verify(s3Service).deleteFile("notes/note-2/b-photo.png");
+        verify(pendingUploadRepository).deleteAllByKeys(keys);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no upload has expired")
+    void shouldSkipWhenNothingExpired() {
+        // Given
+        when(pendingUploadRepository.lockExpired(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verifyNoInteractions(s3Service);
+        verify(pendingUploadRepository, never()).deleteAllByKeys(any());
+    }
+}
@@ -0,0 +1,249 @@
+package com.synapse.synapse.note;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("S3Service Unit Tests")
+class S3ServiceTest {
+
+    private static final String KEY = "blobs/abc";
+    private static final int MB = 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        s3Service = new S3Service(s3Client, s3Presigner, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(s3Service, "bucket", "synapse-test");
+        ReflectionTestUtils.setField(s3Service, "presignedUrlTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(s3Service, "presignedUrlMaxSize", 100L);
+        ReflectionTestUtils.setField(s3Service, "multipartThreshold", DataSize.ofMegabytes(8));
+        ReflectionTestUtils.setField(s3Service, "partSize", DataSize.ofMegabytes(5));
+        ReflectionTestUtils.setField(s3Service, "partConcurrency", 2);
+        s3Service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Service.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Upload Tests")
+    class UploadTests {
+
+        @Test
+        @DisplayName("Should send uploads below the threshold as a single PUT")
+        void shouldPutSmallUpload() throws IOException {
+            // Given
+            MockMultipartFile file = new MockMultipartFile("file", "photo.png", "image/png", new byte[1024]);
+
+            // When
+            s3Service.uploadFile(file, KEY);
+
+            // Then
+            ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+            verify(s3Client).putObject(request.capture(), any(RequestBody.class));
+            assertEquals(KEY, request.getValue().key());
+            assertEquals("image/png", request.getValue().contentType());
+            verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should stream each part's byte range and complete the parts in order")
+        void shouldUploadInParts() throws IOException {
+            // Given
+            byte[] content = new byte[11 * MB];
+            Arrays.fill(content, 5 * MB, 10 * MB, (byte) 2);
+            Arrays.fill(content, 10 * MB, 11 * MB, (byte) 3);
+            MockMultipartFile file = new MockMultipartFile("file", "photo.png", "image/png", content);
+
+            givenMultipartUpload();
+            Map<Integer, byte[]> sent = new ConcurrentHashMap<>();
+            when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+                UploadPartRequest request = invocation.getArgument(0);
+                RequestBody body = invocation.getArgument(1);
+                try (InputStream in = body.contentStreamProvider().newStream()) {
+                    sent.put(request.partNumber(), in.readAllBytes());
+                }
+                return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+            });
+
+            // When
+            s3Service.uploadFile(file, KEY);
+
+            // Then
+            assertEquals(5 * MB, sent.get(1).length);
+            assertEquals(5 * MB, sent.get(2).length);
+            assertEquals(MB, sent.get(3).length);
+            assertEquals(2, sent.get(2)[0]);
+            assertEquals(3, sent.get(3)[MB - 1]);
+
+            ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                    ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+            verify(s3Client).completeMultipartUpload(complete.capture());
+            assertEquals(List.of("etag-1", "etag-2", "etag-3"), complete.getValue().multipartUpload().parts().stream()
+                    .map(CompletedPart::eTag)
+                    .toList());
+            verify(s3Client, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should abort the multipart upload when a part fails")
+        void shouldAbortOnPartFailure() {
+            // Given
+            MockMultipartFile file = new MockMultipartFile("file", "photo.png", "image/png", new byte[11 * MB]);
+
+            givenMultipartUpload();
+            when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+                UploadPartRequest request = invocation.getArgument(0);
+                if (request.partNumber() == 2) {
+                    throw S3Exception.builder().statusCode(500).message("part failed").build();
+                }
+                return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+            });
+
+            // When
+            assertThrows(IOException.class, () -> s3Service.uploadFile(file, KEY));
+
+            // Then
+            ArgumentCaptor<AbortMultipartUploadRequest> abort = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+            verify(s3Client).abortMultipartUpload(abort.capture());
+            assertEquals("upload-1", abort.getValue().uploadId());
+            verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        }
+
+        private void givenMultipartUpload() {
+            when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                    .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        }
+    }
+
+    @Nested
+    @DisplayName("Presigned URL Cache Tests")
+    class PresignedUrlCacheTests {
+
+        private final AtomicInteger signatures = new AtomicInteger();
+
+        @BeforeEach
+        void givenPresigner() {
+            when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenAnswer(invocation -> {
+                PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+                when(presigned.url()).thenReturn(
+                        URI.create("https://synapse-test.s3.amazonaws.com/" + KEY + "?sig=" + signatures.incrementAndGet()).toURL());
+                return presigned;
+            });
+        }
+
+        @Test
+        @DisplayName("Should reuse the cached URL for repeated reads of a key")
+        void shouldReuseCachedUrl() {
+            // When
+            String first = s3Service.getPresignedUrl(KEY);
+            String second = s3Service.getPresignedUrl(KEY);
+
+            // Then
+            assertEquals(first, second);
+            verify(s3Presigner, times(1)).presignGetObject(any(GetObjectPresignRequest.class));
+        }
+
+        @Test
+        @DisplayName("Should sign again once the object and its variants are deleted")
+        void shouldInvalidateOnDelete() {
+            // Given
+            String original = s3Service.getPresignedUrl(KEY);
+            String thumb = s3Service.getPresignedUrl(ImageVariant.THUMB.keyFor(KEY));
+
+            // When
+            s3Service.deleteFile(KEY);
+
+            // Then
+            verify(s3Client).deleteObjects(any(DeleteObjectsRequest.class));
+            assertNotEquals(original, s3Service.getPresignedUrl(KEY));
+            assertNotEquals(thumb, s3Service.getPresignedUrl(ImageVariant.THUMB.keyFor(KEY)));
+            verify(s3Presigner, times(4)).presignGetObject(any(GetObjectPresignRequest.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should sign the declared Content-Length into a direct upload under the note prefix")
+    void shouldPresignUploadWithLength() throws Exception {
+        // Given
+        PresignedPutObjectRequest presigned = mock(PresignedPutObjectRequest.class);
+        when(presigned.url()).thenReturn(URI.create("https://synapse-test.s3.amazonaws.com/upload").toURL());
+        when(presigned.expiration()).thenReturn(Instant.EPOCH);
+        when(s3Presigner.presignPutObject(any(PutObjectPresignRequest.class))).thenReturn(presigned);
+
+        // When
+        NoteImageUploadResponse upload = s3Service.presignUpload("note-1", "my photo.png", "image/png", 2048L);
+
+        // Then
+        ArgumentCaptor<PutObjectPresignRequest> request = ArgumentCaptor.forClass(PutObjectPresignRequest.class);
+        verify(s3Presigner).presignPutObject(request.capture());
+        assertEquals(2048L, request.getValue().putObjectRequest().contentLength());
+        assertEquals("image/png", request.getValue().putObjectRequest().contentType());
+        assertTrue(upload.getKey().startsWith(S3Service.noteKeyPrefix("note-1")));
+        assertTrue(upload.getKey().endsWith("-my_photo.png"));
+    }
+
+    @Test
+    @DisplayName("Should refuse a cache TTL that does not expire a minute before the signature")
+    void shouldRejectTtlNotShorterThanSignature() {
+        // Given
+        S3Service misconfigured = new S3Service(s3Client, s3Presigner, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(misconfigured, "presignedUrlTtl", Duration.ofMinutes(20));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, misconfigured::init);
+    }
+}
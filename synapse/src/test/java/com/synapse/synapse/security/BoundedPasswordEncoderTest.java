@@ -0,0 +1,102 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedPasswordEncoder Unit Tests")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the hashing pool")
+    void shouldEncodeAndMatch() {
+        // Given
+        encoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // When
+        String hash = encoder.encode("s3cret");
+
+        // Then
+        assertTrue(encoder.matches("s3cret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(2, meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fail fast once the pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blocking(started), 1, 0, Duration.ofSeconds(5), meterRegistry);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        caller.submit(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        BusinessException ex = assertThrows(BusinessException.class, () -> encoder.encode("second"));
+
+        // Then
+        assertEquals(ErrorCode.PASSWORD_HASHING_BUSY, ex.getErrorCode());
+        assertEquals(1.0, meterRegistry.get("security.password.hash.rejected").counter().count());
+        caller.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should give up on a hash queued longer than the maximum wait")
+    void shouldTimeOutQueuedHash() {
+        // Given
+        encoder = new BoundedPasswordEncoder(
+                blocking(new CountDownLatch(1)), 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        // When
+        BusinessException ex = assertThrows(BusinessException.class, () -> encoder.encode("slow"));
+
+        // Then
+        assertEquals(ErrorCode.PASSWORD_HASHING_BUSY, ex.getErrorCode());
+    }
+
+    // Holds the hashing thread until the test ends
+    private PasswordEncoder blocking(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
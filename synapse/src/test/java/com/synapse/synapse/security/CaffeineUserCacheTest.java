@@ -0,0 +1,51 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CaffeineUserCache Unit Tests")
+class CaffeineUserCacheTest {
+
+    private CaffeineUserCache userCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        this.userCache = new CaffeineUserCache(new SimpleMeterRegistry());
+        this.userCache.init();
+
+        this.user = User.builder()
+                .id("user-123")
+                .email("John.Doe@Test.com")
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should find a cached principal regardless of email case")
+    void shouldReturnCachedUserIgnoringCase() {
+        // Given
+        userCache.putUserInCache(user);
+
+        // When & Then
+        assertSame(user, userCache.getUserFromCache("john.doe@test.com"));
+    }
+
+    @Test
+    @DisplayName("Should drop the principal when it is invalidated")
+    void shouldEvictUser() {
+        // Given
+        userCache.putUserInCache(user);
+
+        // When
+        userCache.removeUserFromCache("JOHN.DOE@TEST.COM");
+
+        // Then
+        assertNull(userCache.getUserFromCache("john.doe@test.com"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.synapse.synapse.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of authenticating a bearer token.
+// Not picked up by surefire; run the main method, e.g. from the IDE.
+//
+//   legacyTripleParse  the old JwtFilter path: extractUsername, then isTokenValid
+//                      (extractUsername + isTokenExpired), a new parser each time
+//   validateOnce       JwtService.validate with the pre-built parser, cache disabled
+//   validateCached     JwtService.validate for a token it has verified before
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private PublicKey publicKey;
+    private String token;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.jwtService = JwtServiceFixtures.jwtService(900_000L);
+        this.uncachedJwtService = JwtServiceFixtures.jwtService(900_000L, new SimpleMeterRegistry(), 0);
+        this.publicKey = (PublicKey) ReflectionTestUtils.getField(uncachedJwtService, "publicKey");
+        this.token = jwtService.generateAccessToken(JwtServiceFixtures.user());
+        this.uncachedToken = uncachedJwtService.generateAccessToken(JwtServiceFixtures.user());
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = parse(uncachedToken).getSubject();
+        String expected = parse(uncachedToken).getSubject();
+        boolean expired = parse(uncachedToken).getExpiration().before(new Date());
+        return username.equals(expected) && !expired;
+    }
+
+    @Benchmark
+    public JwtClaims validateOnce() {
+        return uncachedJwtService.validate(uncachedToken);
+    }
+
+    @Benchmark
+    public JwtClaims validateCached() {
+        return jwtService.validate(token);
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
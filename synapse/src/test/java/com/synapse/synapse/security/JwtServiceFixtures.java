@@ -0,0 +1,107 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.user.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+// Builds a JwtService outside Spring, backed by a freshly generated key pair
+// (RSA unless given) written to temporary PEM files
+final class JwtServiceFixtures {
+
+    private JwtServiceFixtures() {}
+
+    static JwtService jwtService(long accessTokenExpiration) throws Exception {
+        return jwtService(accessTokenExpiration, new SimpleMeterRegistry());
+    }
+
+    static JwtService jwtService(long accessTokenExpiration, MeterRegistry meterRegistry) throws Exception {
+        return jwtService(accessTokenExpiration, meterRegistry, 10_000);
+    }
+
+    static JwtService jwtService(
+            long accessTokenExpiration,
+            MeterRegistry meterRegistry,
+            long verifiedCacheMaxSize
+    ) throws Exception {
+        return jwtService(accessTokenExpiration, meterRegistry, verifiedCacheMaxSize,
+                keys(JwtKeyProperties.DEFAULT_KEY_ID, rsaKeyPair()));
+    }
+
+    static JwtService jwtService(JwtKeyProperties keys) throws Exception {
+        return jwtService(900_000L, new SimpleMeterRegistry(), 10_000, keys);
+    }
+
+    static JwtService jwtService(
+            long accessTokenExpiration,
+            MeterRegistry meterRegistry,
+            long verifiedCacheMaxSize,
+            JwtKeyProperties keys
+    ) throws Exception {
+        JwtService jwtService = new JwtService(meterRegistry, keys);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", accessTokenExpiration);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static JwtKeyProperties keys(String keyId, KeyPair keyPair) throws IOException {
+        Path dir = Files.createTempDirectory("jwt-keys");
+        JwtKeyProperties keys = new JwtKeyProperties();
+        keys.setKeyId(keyId);
+        keys.setPrivateKeyPath(
+                writePem(dir.resolve("private_key.pem"), "PRIVATE KEY", keyPair.getPrivate().getEncoded()).toString());
+        keys.setPublicKeyPath(
+                writePem(dir.resolve("public_key.pem"), "PUBLIC KEY", keyPair.getPublic().getEncoded()).toString());
+        return keys;
+    }
+
+    // the public half of an existing key set, listed as a retiring key
+    static JwtKeyProperties.VerificationKey retired(JwtKeyProperties keys) {
+        JwtKeyProperties.VerificationKey retired = new JwtKeyProperties.VerificationKey();
+        retired.setKeyId(keys.getKeyId());
+        retired.setPublicKeyPath(keys.getPublicKeyPath());
+        return retired;
+    }
+
+    static User user() {
+        return User.builder()
+                .id("user-123")
+                .email("user@test.com")
+                .enabled(true)
+                .build();
+    }
+
+    static KeyPair rsaKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    static KeyPair ed25519KeyPair() throws NoSuchAlgorithmException {
+        return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    }
+
+    private static Path writePem(Path path, String type, byte[] der) throws IOException {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        Files.writeString(path, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+        path.toFile().deleteOnExit();
+        return path;
+    }
+}
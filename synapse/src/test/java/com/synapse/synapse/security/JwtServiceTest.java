@@ -0,0 +1,189 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.jwtService = JwtServiceFixtures.jwtService(900_000L, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should return subject, expiry and type from one validation")
+    void shouldValidateAccessToken() {
+        // Given
+        String token = jwtService.generateAccessToken(JwtServiceFixtures.user());
+
+        // When
+        JwtClaims claims = jwtService.validate(token);
+
+        // Then
+        assertEquals("user@test.com", claims.subject());
+        assertTrue(claims.isAccessToken());
+        assertTrue(claims.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should embed the principal claims used by stateless mode")
+    void shouldEmbedPrincipalClaims() {
+        // Given
+        User user = JwtServiceFixtures.user();
+        user.setTokenVersion(3);
+
+        // When
+        JwtClaims claims = jwtService.validate(jwtService.generateAccessToken(user));
+
+        // Then
+        assertEquals("user-123", claims.userId());
+        assertTrue(claims.enabled());
+        assertFalse(claims.locked());
+        assertEquals(3, claims.tokenVersion());
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered payload")
+    void shouldRejectTamperedToken() {
+        // Given
+        String token = jwtService.generateAccessToken(JwtServiceFixtures.user());
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "AA." + parts[2];
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> jwtService.validate(forged));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void shouldRejectExpiredToken() throws Exception {
+        // Given
+        JwtService expiring = JwtServiceFixtures.jwtService(-1_000L);
+        String token = expiring.generateAccessToken(JwtServiceFixtures.user());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> expiring.validate(token));
+    }
+
+    @Test
+    @DisplayName("Should only accept a refresh token for refresh")
+    void shouldRejectAccessTokenOnRefresh() {
+        // Given
+        String accessToken = jwtService.generateAccessToken(JwtServiceFixtures.user());
+        String refreshToken = jwtService.generateRefreshToken(JwtServiceFixtures.user(), "family-1", 0);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> jwtService.validateRefreshToken(accessToken));
+        assertEquals("user@test.com", jwtService.validateRefreshToken(refreshToken).subject());
+    }
+
+    @Test
+    @DisplayName("Should carry the refresh token family and generation")
+    void shouldEmbedFamilyAndGeneration() {
+        // When
+        JwtClaims claims = jwtService.validateRefreshToken(
+                jwtService.generateRefreshToken(JwtServiceFixtures.user(), "family-1", 4));
+
+        // Then
+        assertEquals("family-1", claims.familyId());
+        assertEquals(4, claims.generation());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated token from the verified-token cache")
+    void shouldCacheVerifiedToken() {
+        // Given
+        String token = jwtService.generateAccessToken(JwtServiceFixtures.user());
+
+        // When
+        JwtClaims first = jwtService.validate(token);
+        JwtClaims second = jwtService.validate(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.verified-tokens")
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should sign and verify with an Ed25519 key")
+    void shouldSupportEd25519Keys() throws Exception {
+        // Given
+        JwtService eddsa = JwtServiceFixtures.jwtService(
+                JwtServiceFixtures.keys("ed-1", JwtServiceFixtures.ed25519KeyPair()));
+
+        // When
+        String token = eddsa.generateAccessToken(JwtServiceFixtures.user());
+
+        // Then
+        assertTrue(header(token).contains("\"alg\":\"EdDSA\""));
+        assertTrue(header(token).contains("\"kid\":\"ed-1\""));
+        assertEquals("user@test.com", eddsa.validate(token).subject());
+    }
+
+    @Test
+    @DisplayName("Should sign and verify with a P-256 key")
+    void shouldSupportEcKeys() throws Exception {
+        // Given
+        JwtService ecdsa = JwtServiceFixtures.jwtService(
+                JwtServiceFixtures.keys("ec-1", JwtServiceFixtures.ecKeyPair()));
+
+        // When
+        String token = ecdsa.generateAccessToken(JwtServiceFixtures.user());
+
+        // Then
+        assertTrue(header(token).contains("\"alg\":\"ES256\""));
+        assertEquals("user@test.com", ecdsa.validate(token).subject());
+    }
+
+    @Test
+    @DisplayName("Should keep verifying tokens signed with a retiring key")
+    void shouldVerifyTokensOfRetiredKey() throws Exception {
+        // Given
+        JwtKeyProperties previousKeys = JwtServiceFixtures.keys("rsa-1", JwtServiceFixtures.rsaKeyPair());
+        String oldToken = JwtServiceFixtures.jwtService(previousKeys).generateAccessToken(JwtServiceFixtures.user());
+
+        JwtKeyProperties rotatedKeys = JwtServiceFixtures.keys("ed-2", JwtServiceFixtures.ed25519KeyPair());
+        rotatedKeys.setRetiredKeys(List.of(JwtServiceFixtures.retired(previousKeys)));
+
+        // When
+        JwtService rotated = JwtServiceFixtures.jwtService(rotatedKeys);
+
+        // Then
+        assertEquals("user@test.com", rotated.validate(oldToken).subject());
+        assertTrue(header(rotated.generateAccessToken(JwtServiceFixtures.user())).contains("\"kid\":\"ed-2\""));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with a key no longer in the set")
+    void shouldRejectTokenOfRemovedKey() throws Exception {
+        // Given
+        JwtService previous = JwtServiceFixtures.jwtService(
+                JwtServiceFixtures.keys("rsa-1", JwtServiceFixtures.rsaKeyPair()));
+        String oldToken = previous.generateAccessToken(JwtServiceFixtures.user());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> jwtService.validate(oldToken));
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+}
@@ -0,0 +1,58 @@
+package com.synapse.synapse.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+// Sign and verify throughput of JwtService per key type, i.e. the cost of a
+// login or refresh (sign) and of a first-seen bearer token (verify).
+// Not picked up by surefire; run the main method, e.g. from the IDE.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = switch (algorithm) {
+            case "RS256" -> JwtServiceFixtures.rsaKeyPair();
+            case "ES256" -> JwtServiceFixtures.ecKeyPair();
+            case "EdDSA" -> JwtServiceFixtures.ed25519KeyPair();
+            default -> throw new IllegalArgumentException(algorithm);
+        };
+        // verified-token cache disabled so every validate checks the signature
+        this.jwtService = JwtServiceFixtures.jwtService(
+                900_000L, new SimpleMeterRegistry(), 0, JwtServiceFixtures.keys(algorithm, keyPair));
+        this.token = jwtService.generateAccessToken(JwtServiceFixtures.user());
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(JwtServiceFixtures.user());
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return jwtService.validate(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.auth.RefreshTokenFamilyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RevokedFamilyFilter Unit Tests")
+class RevokedFamilyFilterTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository familyRepository;
+
+    private RevokedFamilyFilter revokedFamilies;
+
+    @BeforeEach
+    void setUp() {
+        when(familyRepository.findRevokedIds(any())).thenReturn(List.of("family-revoked"));
+        this.revokedFamilies = new RevokedFamilyFilter(familyRepository, new SimpleMeterRegistry());
+        this.revokedFamilies.init();
+    }
+
+    @Test
+    @DisplayName("Should answer for live families without a database query")
+    void shouldSkipDatabaseForLiveFamilies() {
+        // When
+        int revoked = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (revokedFamilies.isRevoked("family-" + i)) {
+                revoked++;
+            }
+        }
+
+        // Then
+        assertEquals(0, revoked);
+        // only Bloom false positives reach the repository
+        verify(familyRepository, atMost(50)).existsByIdAndRevokedTrue(any());
+    }
+
+    @Test
+    @DisplayName("Should confirm a loaded revocation against the database")
+    void shouldConfirmLoadedRevocation() {
+        // Given
+        when(familyRepository.existsByIdAndRevokedTrue("family-revoked")).thenReturn(true);
+
+        // When & Then
+        assertTrue(revokedFamilies.isRevoked("family-revoked"));
+        assertTrue(revokedFamilies.isRevoked("family-revoked"));
+        verify(familyRepository, times(1)).existsByIdAndRevokedTrue("family-revoked");
+    }
+
+    @Test
+    @DisplayName("Should apply a local revocation at once")
+    void shouldApplyLocalRevocation() {
+        // When
+        revokedFamilies.record("family-new");
+
+        // Then
+        assertTrue(revokedFamilies.isRevoked("family-new"));
+        verify(familyRepository, never()).existsByIdAndRevokedTrue("family-new");
+    }
+}
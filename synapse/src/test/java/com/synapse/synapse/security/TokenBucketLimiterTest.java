@@ -0,0 +1,97 @@
+package com.synapse.synapse.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketLimiter Unit Tests")
+class TokenBucketLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then refuse")
+    void shouldLimitBurstToCapacity() {
+        // Given
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test", 3, Duration.ofMinutes(1), 1024, meterRegistry);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("security.rate-limit")
+                .tag("limiter", "test")
+                .tag("result", "rejected")
+                .counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void shouldIsolateKeys() {
+        // Given
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test", 1, Duration.ofMinutes(1), 1024, meterRegistry);
+        limiter.tryAcquire("10.0.0.1");
+
+        // When & Then
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should hand out tokens again after the refill interval")
+    void shouldRefillOverTime() throws InterruptedException {
+        // Given
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test", 1, Duration.ofMillis(50), 1024, meterRegistry);
+        limiter.tryAcquire("10.0.0.1");
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        // When
+        Thread.sleep(80);
+
+        // Then
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should not hand colliding keys a fresh bucket when they alternate")
+    void shouldShareBucketBetweenCollidingKeys() {
+        // Given
+        // "Aa" and "BB" share String.hashCode, and one slot forces them together
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test", 2, Duration.ofMinutes(1), 1, meterRegistry);
+
+        // When
+        int permitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire(i % 2 == 0 ? "Aa" : "BB")) {
+                permitted++;
+            }
+        }
+
+        // Then
+        assertEquals(2, permitted);
+    }
+
+    @Test
+    @DisplayName("Should hold alternating keys to at most their combined capacity")
+    void shouldLimitAlternatingKeys() {
+        // Given
+        TokenBucketLimiter limiter = new TokenBucketLimiter("test", 2, Duration.ofMinutes(1), 1024, meterRegistry);
+
+        // When
+        int permitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire(i % 2 == 0 ? "Aa" : "BB")) {
+                permitted++;
+            }
+        }
+
+        // Then
+        assertTrue(permitted <= 4);
+    }
+}
@@ -0,0 +1,86 @@
+package com.synapse.synapse.security;
+
+import com.synapse.synapse.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenVersionRegistry Unit Tests")
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenVersionRegistry tokenVersions;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenVersions, "accessTokenExpiration", 900_000L);
+    }
+
+    @Test
+    @DisplayName("Should accept any version for users never revoked")
+    void shouldAcceptUnknownUser() {
+        assertTrue(tokenVersions.isCurrent("user-123", 0));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens older than a locally recorded bump")
+    void shouldRejectOlderVersion() {
+        // When
+        tokenVersions.record("user-123", 2);
+
+        // Then
+        assertFalse(tokenVersions.isCurrent("user-123", 1));
+        assertTrue(tokenVersions.isCurrent("user-123", 2));
+    }
+
+    @Test
+    @DisplayName("Should pick up versions bumped on other nodes without losing local ones")
+    void shouldMergeRefreshedVersions() {
+        // Given
+        UserRepository.TokenVersion remote = mock(UserRepository.TokenVersion.class);
+        when(remote.getId()).thenReturn("user-456");
+        when(remote.getTokenVersion()).thenReturn(1);
+        when(remote.getTokenVersionChangedAt()).thenReturn(LocalDateTime.now());
+        when(userRepository.findTokenVersionsChangedSince(any())).thenReturn(List.of(remote));
+        tokenVersions.record("user-123", 4);
+
+        // When
+        tokenVersions.refresh();
+
+        // Then
+        assertFalse(tokenVersions.isCurrent("user-456", 0));
+        assertFalse(tokenVersions.isCurrent("user-123", 3));
+    }
+
+    @Test
+    @DisplayName("Should only load and keep bumps younger than the access-token lifetime")
+    void shouldForgetExpiredBumps() {
+        // Given
+        ReflectionTestUtils.setField(tokenVersions, "accessTokenExpiration", 0L);
+        when(userRepository.findTokenVersionsChangedSince(any())).thenReturn(List.of());
+        tokenVersions.record("user-123", 4);
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        tokenVersions.refresh();
+
+        // Then: tokens issued before the bump have all expired by now
+        verify(userRepository).findTokenVersionsChangedSince(argThat(since -> !since.isBefore(before)));
+        assertTrue(tokenVersions.isCurrent("user-123", 3));
+    }
+}
@@ -0,0 +1,171 @@
+package com.synapse.synapse.sync;
+
+import com.synapse.synapse.board.Board;
+import com.synapse.synapse.board.BoardRepository;
+import com.synapse.synapse.exception.BusinessException;
+import com.synapse.synapse.exception.ErrorCode;
+import com.synapse.synapse.link.Link;
+import com.synapse.synapse.link.LinkMapper;
+import com.synapse.synapse.link.LinkRepository;
+import com.synapse.synapse.link.LinkResponse;
+import com.synapse.synapse.note.Note;
+import com.synapse.synapse.note.NoteMapper;
+import com.synapse.synapse.note.NoteRepository;
+import com.synapse.synapse.note.NoteResponseDto;
+import com.synapse.synapse.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardChangeService Unit Tests")
+class BoardChangeServiceTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private LinkRepository linkRepository;
+    @Mock
+    private BoardTombstoneRepository tombstoneRepository;
+    @Mock
+    private NoteMapper noteMapper;
+    @Mock
+    private LinkMapper linkMapper;
+
+    @InjectMocks
+    private BoardChangeService boardChangeService;
+
+    private User testUser;
+    private Board testBoard;
+
+    @BeforeEach
+    void setUp() {
+        this.testUser = User.builder()
+                .id("user-123")
+                .build();
+
+        this.testBoard = Board.builder()
+                .id("board-123")
+                .owner(testUser)
+                .changeVersion(12)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return only rows changed after the cursor plus tombstones")
+    void shouldReturnChangesSinceCursor() {
+        // Given
+        Note note = Note.builder().id("note-1").changeVersion(11).build();
+        Link link = Link.builder().id("link-1").changeVersion(12).build();
+        NoteResponseDto noteDto = NoteResponseDto.builder().id("note-1").build();
+        LinkResponse linkDto = LinkResponse.builder().id("link-1").build();
+
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-123"))
+                .thenReturn(Optional.of(testBoard));
+        when(noteRepository.findAllByBoardIdAndChangeVersionGreaterThan("board-123", 10))
+                .thenReturn(List.of(note));
+        when(linkRepository.findAllByBoardIdAndChangeVersionGreaterThan("board-123", 10))
+                .thenReturn(List.of(link));
+        when(tombstoneRepository.findAllByBoardIdAndChangeVersionGreaterThan("board-123", 10))
+                .thenReturn(List.of(
+                        BoardTombstone.builder().entityType(ChangeEntityType.NOTE).entityId("note-9").build(),
+                        BoardTombstone.builder().entityType(ChangeEntityType.LINK).entityId("link-9").build()
+                ));
+        when(noteMapper.toNoteResponse(note)).thenReturn(noteDto);
+        when(linkMapper.toResponse(link)).thenReturn(linkDto);
+
+        // When
+        BoardChangesResponse result = boardChangeService.getChanges("board-123", 10, testUser);
+
+        // Then
+        assertEquals(12, result.getCursor());
+        assertEquals(List.of(noteDto), result.getNotes());
+        assertEquals(List.of(linkDto), result.getLinks());
+        assertEquals(List.of("note-9"), result.getDeletedNoteIds());
+        assertEquals(List.of("link-9"), result.getDeletedLinkIds());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor ahead of the board")
+    void shouldRejectCursorAheadOfBoard() {
+        // Given
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-123"))
+                .thenReturn(Optional.of(testBoard));
+
+        // When & Then
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> boardChangeService.getChanges("board-123", 13, testUser)
+        );
+
+        assertEquals(ErrorCode.INVALID_SYNC_CURSOR, exception.getErrorCode());
+        verifyNoInteractions(noteRepository, linkRepository, tombstoneRepository);
+    }
+
+    @Test
+    @DisplayName("Should require a resync when deletions after the cursor were pruned")
+    void shouldRequireResyncBeforePrunedHorizon() {
+        // Given
+        testBoard.setTombstonesPrunedThrough(8);
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-123"))
+                .thenReturn(Optional.of(testBoard));
+
+        // When & Then
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> boardChangeService.getChanges("board-123", 7, testUser)
+        );
+
+        assertEquals(ErrorCode.SYNC_RESYNC_REQUIRED, exception.getErrorCode());
+        verifyNoInteractions(noteRepository, linkRepository, tombstoneRepository);
+    }
+
+    @Test
+    @DisplayName("Should serve a cursor at the pruned horizon")
+    void shouldServeCursorAtPrunedHorizon() {
+        // Given
+        testBoard.setTombstonesPrunedThrough(8);
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-123"))
+                .thenReturn(Optional.of(testBoard));
+        when(noteRepository.findAllByBoardIdAndChangeVersionGreaterThan("board-123", 8))
+                .thenReturn(List.of());
+        when(linkRepository.findAllByBoardIdAndChangeVersionGreaterThan("board-123", 8))
+                .thenReturn(List.of());
+        when(tombstoneRepository.findAllByBoardIdAndChangeVersionGreaterThan("board-123", 8))
+                .thenReturn(List.of());
+
+        // When
+        BoardChangesResponse result = boardChangeService.getChanges("board-123", 8, testUser);
+
+        // Then
+        assertEquals(12, result.getCursor());
+    }
+
+    @Test
+    @DisplayName("Should throw BOARD_NOT_FOUND for boards the user does not own")
+    void shouldThrowWhenBoardNotFound() {
+        // Given
+        when(boardRepository.findByIdAndOwnerId("board-123", "user-123"))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> boardChangeService.getChanges("board-123", 0, testUser)
+        );
+
+        assertEquals(ErrorCode.BOARD_NOT_FOUND, exception.getErrorCode());
+    }
+}
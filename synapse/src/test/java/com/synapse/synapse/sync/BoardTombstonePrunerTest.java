@@ -0,0 +1,43 @@
+package com.synapse.synapse.sync;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoardTombstonePruner Unit Tests")
+class BoardTombstonePrunerTest {
+
+    @Mock
+    private BoardTombstoneRepository tombstoneRepository;
+
+    @InjectMocks
+    private BoardTombstonePruner pruner;
+
+    @Test
+    @DisplayName("Should record each board's horizon before deleting old tombstones")
+    void shouldAdvanceHorizonBeforeDelete() {
+        // Given
+        LocalDateTime before = LocalDateTime.now().minusDays(30);
+
+        // When
+        pruner.prune();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        InOrder order = inOrder(tombstoneRepository);
+        order.verify(tombstoneRepository).advancePrunedHorizon(cutoff.capture());
+        order.verify(tombstoneRepository).deleteOlderThan(cutoff.getValue());
+        assertFalse(cutoff.getValue().isBefore(before));
+    }
+}